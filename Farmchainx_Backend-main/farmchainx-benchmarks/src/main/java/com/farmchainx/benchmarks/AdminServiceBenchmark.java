@@ -0,0 +1,55 @@
+package com.farmchainx.benchmarks;
+
+import com.farmchainx.farmchainx.FarmchainxApplication;
+import com.farmchainx.farmchainx.service.AdminService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// Admin dashboard aggregations against the real application context on in-memory H2,
+// seeded with synthetic users, products, ratings and purchases
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AdminServiceBenchmark {
+
+    @Param({"1000"})
+    public int products;
+
+    private ConfigurableApplicationContext context;
+    private AdminService adminService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(FarmchainxApplication.class)
+                .run(Fixtures.quietApplicationArgs("jdbc:h2:mem:bench;DB_CLOSE_DELAY=-1"));
+        SeedData.seed(context, products / 2, products, 5, 42);
+        adminService = context.getBean(AdminService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Map<String, Object> userStatistics() {
+        return adminService.getUserStatistics();
+    }
+
+    @Benchmark
+    public Map<String, Object> systemMetrics() {
+        return adminService.getSystemMetrics();
+    }
+
+    @Benchmark
+    public Map<String, Object> systemOverview() {
+        return adminService.getSystemOverview();
+    }
+}
@@ -0,0 +1,98 @@
+package com.farmchainx.benchmarks;
+
+import com.farmchainx.farmchainx.model.Product;
+import com.farmchainx.farmchainx.model.RatingView;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+// Encode and decode time of product and rating lists as JSON, CBOR and Smile. Payload sizes, raw and
+// gzipped, are printed once per trial, since JMH only reports times.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BinaryFormatBenchmark {
+
+    private static final TypeReference<List<Product>> PRODUCTS = new TypeReference<>() {
+    };
+    private static final TypeReference<List<RatingView>> RATINGS = new TypeReference<>() {
+    };
+
+    @Param({"json", "cbor", "smile"})
+    public String format;
+
+    @Param({"500"})
+    public int size;
+
+    private ObjectMapper mapper;
+    private List<Product> products;
+    private List<RatingView> ratings;
+    private byte[] encodedProducts;
+    private byte[] encodedRatings;
+
+    @Setup
+    public void setUp() throws IOException {
+        mapper = mapper(format);
+        products = Fixtures.products(size, 42);
+        ratings = Fixtures.ratingViews(size, 7);
+        encodedProducts = mapper.writeValueAsBytes(products);
+        encodedRatings = mapper.writeValueAsBytes(ratings);
+        System.out.printf("%n%s, %d items: products %,d bytes (%,d gzipped), ratings %,d bytes (%,d gzipped)%n",
+                format, size, encodedProducts.length, gzipped(encodedProducts),
+                encodedRatings.length, gzipped(encodedRatings));
+    }
+
+    @Benchmark
+    public byte[] encodeProducts() throws IOException {
+        return mapper.writeValueAsBytes(products);
+    }
+
+    @Benchmark
+    public List<Product> decodeProducts() throws IOException {
+        return mapper.readValue(encodedProducts, PRODUCTS);
+    }
+
+    @Benchmark
+    public byte[] encodeRatings() throws IOException {
+        return mapper.writeValueAsBytes(ratings);
+    }
+
+    @Benchmark
+    public List<RatingView> decodeRatings() throws IOException {
+        return mapper.readValue(encodedRatings, RATINGS);
+    }
+
+    // Configured the way Spring Boot configures its mappers (see BinaryFormatConfig)
+    private static ObjectMapper mapper(String format) {
+        JsonFactory factory = switch (format) {
+            case "cbor" -> new CBORFactory();
+            case "smile" -> new SmileFactory();
+            default -> new JsonFactory();
+        };
+        return new ObjectMapper(factory)
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    }
+
+    private static int gzipped(byte[] data) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(data);
+        }
+        return out.size();
+    }
+}
@@ -0,0 +1,67 @@
+package com.farmchainx.benchmarks;
+
+import com.farmchainx.farmchainx.service.FileStorageService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+// Product image upload: storeFile copying an in-memory upload into a temporary upload directory
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FileStorageBenchmark {
+
+    @Param({"65536", "1048576"})
+    public int bytes;
+
+    private Path uploadDir;
+    private FileStorageService fileStorageService;
+    private MockMultipartFile image;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        uploadDir = Files.createTempDirectory("farmchainx-bench-uploads");
+        fileStorageService = new FileStorageService(new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(fileStorageService, "uploadDir", uploadDir.toString());
+
+        byte[] content = new byte[bytes];
+        new SplittableRandom(42).nextBytes(content);
+        image = new MockMultipartFile("image", "harvest.jpg", "image/jpeg", content);
+    }
+
+    @Benchmark
+    public String storeFile() throws IOException {
+        return fileStorageService.storeFile(image);
+    }
+
+    // Keep the directory from growing across iterations
+    @TearDown(Level.Iteration)
+    public void clearUploads() throws IOException {
+        try (Stream<Path> files = Files.list(uploadDir)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        try (Stream<Path> files = Files.walk(uploadDir)) {
+            for (Path file : (Iterable<Path>) files.sorted(Comparator.reverseOrder())::iterator) {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.farmchainx.benchmarks;
+
+import com.farmchainx.farmchainx.model.Product;
+import com.farmchainx.farmchainx.model.Rating;
+import com.farmchainx.farmchainx.model.RatingView;
+import com.farmchainx.farmchainx.model.User;
+import com.farmchainx.farmchainx.repository.UserRepository;
+
+import java.lang.reflect.Proxy;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.SplittableRandom;
+
+// Deterministic synthetic data shared by the benchmarks
+final class Fixtures {
+
+    static final String JWT_SECRET = "U29tZVN1cGVyU2VjdXJlS2V5Rm9yRmFybUNoYWluWDEyMzQ1Njc4OQ==";
+    static final long JWT_EXPIRATION_MS = 86_400_000L;
+
+    private static final String[] CROPS = {"Rice", "Wheat", "Maize", "Tomato", "Onion", "Potato", "Mango", "Banana"};
+
+    private Fixtures() {
+    }
+
+    // Passed as command-line arguments because application.properties turns on SQL and DEBUG logging,
+    // and only command-line arguments outrank it
+    static String[] quietApplicationArgs(String jdbcUrl) {
+        return new String[]{
+                "--server.port=0",
+                "--management.server.port=-1",
+                "--spring.datasource.url=" + jdbcUrl,
+                "--spring.jpa.show-sql=false",
+                "--spring.main.banner-mode=off",
+                "--logging.level.root=WARN",
+                "--logging.level.com.farmchainx=WARN"};
+    }
+
+    static User user(long id, User.Role role) {
+        User user = new User();
+        user.setId(id);
+        user.setName(role.name().charAt(0) + role.name().substring(1).toLowerCase() + " " + id);
+        user.setEmail(role.name().toLowerCase() + id + "@farmchainx.com");
+        user.setPassword("not-checked-by-the-filter");
+        user.setRole(role);
+        return user;
+    }
+
+    static List<Product> products(int count, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        User farmer = user(1, User.Role.FARMER);
+        List<Product> products = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            products.add(Product.builder()
+                    .id((long) i + 1)
+                    .name("Produce lot " + i)
+                    .cropType(CROPS[random.nextInt(CROPS.length)])
+                    .soilType("Loamy")
+                    .pesticides("Neem oil")
+                    .harvestDate(LocalDate.of(2025, 1 + random.nextInt(12), 1 + random.nextInt(28)))
+                    .useBeforeDate(LocalDate.of(2026, 1 + random.nextInt(12), 1 + random.nextInt(28)))
+                    .location("Village " + random.nextInt(500))
+                    .additionalInfo("Sorted and graded by hand before packing.")
+                    .price(10 + random.nextInt(9_000) / 100.0)
+                    .quantity(1 + random.nextInt(1_000))
+                    .averageRating(random.nextInt(50) / 10.0)
+                    .imageUrl("/uploads/" + random.nextLong(1L << 40) + ".jpg")
+                    .createdAt(LocalDateTime.of(2025, 6, 1, 8, 30).plusMinutes(i))
+                    .farmer(farmer)
+                    .build());
+        }
+        return products;
+    }
+
+    // Ratings point at products without a user, as Jackson would otherwise walk into the user entity
+    static List<Rating> ratings(int count, List<Product> products, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        List<Rating> ratings = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Rating rating = new Rating();
+            rating.setId((long) i + 1);
+            rating.setStars(1 + random.nextInt(5));
+            rating.setComment("Fresh and well packed");
+            rating.setCreatedAt(LocalDateTime.of(2025, 6, 1, 8, 30).plusSeconds(i * 37L));
+            rating.setProduct(products.get(random.nextInt(products.size())));
+            ratings.add(rating);
+        }
+        return ratings;
+    }
+
+    // Ratings as the ratings endpoints return them, flattened with reviewer and product names
+    static List<RatingView> ratingViews(int count, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        List<RatingView> ratings = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            ratings.add(new RatingView((long) i + 1, 1 + random.nextInt(5), "Fresh and well packed",
+                    LocalDateTime.of(2025, 6, 1, 8, 30).plusSeconds(i * 37L), "Customer " + random.nextInt(1_000),
+                    (long) random.nextInt(200), "Produce lot " + random.nextInt(200)));
+        }
+        return ratings;
+    }
+
+    // A UserRepository answering findByEmail from a map; any other call fails loudly
+    static UserRepository userRepository(Map<String, User> usersByEmail) {
+        return (UserRepository) Proxy.newProxyInstance(UserRepository.class.getClassLoader(),
+                new Class<?>[]{UserRepository.class}, (proxy, method, args) -> {
+                    if (method.getName().equals("findByEmail")) {
+                        return Optional.ofNullable(usersByEmail.get((String) args[0]));
+                    }
+                    if (method.getDeclaringClass() == Object.class) {
+                        return method.invoke(usersByEmail, args);
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                });
+    }
+}
@@ -0,0 +1,48 @@
+package com.farmchainx.benchmarks;
+
+import com.farmchainx.farmchainx.model.Product;
+import com.farmchainx.farmchainx.model.Rating;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Jackson output of the entity lists the product and rating endpoints return
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonSerializationBenchmark {
+
+    @Param({"50", "500"})
+    public int size;
+
+    private ObjectMapper objectMapper;
+    private List<Product> products;
+    private List<Rating> ratings;
+
+    @Setup
+    public void setUp() {
+        // Configured the way Spring Boot configures its ObjectMapper
+        objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        products = Fixtures.products(size, 42);
+        ratings = Fixtures.ratings(size, products, 7);
+    }
+
+    @Benchmark
+    public byte[] products() throws Exception {
+        return objectMapper.writeValueAsBytes(products);
+    }
+
+    @Benchmark
+    public byte[] ratings() throws Exception {
+        return objectMapper.writeValueAsBytes(ratings);
+    }
+}
@@ -0,0 +1,60 @@
+package com.farmchainx.benchmarks;
+
+import com.farmchainx.farmchainx.config.JwtAuthFilter;
+import com.farmchainx.farmchainx.config.JwtUtil;
+import com.farmchainx.farmchainx.model.User;
+import com.farmchainx.farmchainx.service.AuthService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.crypto.password.NoOpPasswordEncoder;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// The whole filter path for an authenticated API request (parse, user lookup, validate) against
+// a public path that skips the JWT work; the user lookup is an in-memory stub, not a database
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtAuthFilterBenchmark {
+
+    private JwtAuthFilter filter;
+    private String authorization;
+
+    @Setup
+    public void setUp() {
+        JwtUtil jwtUtil = new JwtUtil(Fixtures.JWT_SECRET, Fixtures.JWT_EXPIRATION_MS);
+        User farmer = Fixtures.user(1, User.Role.FARMER);
+        AuthService authService = new AuthService(Fixtures.userRepository(Map.of(farmer.getEmail(), farmer)),
+                NoOpPasswordEncoder.getInstance());
+        filter = new JwtAuthFilter(jwtUtil, authService, new SimpleMeterRegistry());
+        authorization = "Bearer " + jwtUtil.generateToken(farmer.getEmail());
+    }
+
+    @Benchmark
+    public Object authenticatedRequest() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/products");
+        request.addHeader("Authorization", authorization);
+        try {
+            filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+            return SecurityContextHolder.getContext().getAuthentication();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    @Benchmark
+    public Object publicRequest() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/auth/login");
+        MockFilterChain chain = new MockFilterChain();
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+        return chain.getRequest();
+    }
+}
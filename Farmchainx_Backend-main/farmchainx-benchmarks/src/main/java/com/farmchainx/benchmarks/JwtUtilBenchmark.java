@@ -0,0 +1,45 @@
+package com.farmchainx.benchmarks;
+
+import com.farmchainx.farmchainx.config.JwtUtil;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtUtilBenchmark {
+
+    private JwtUtil jwtUtil;
+    private String token;
+    private UserDetails userDetails;
+
+    @Setup
+    public void setUp() {
+        jwtUtil = new JwtUtil(Fixtures.JWT_SECRET, Fixtures.JWT_EXPIRATION_MS);
+        token = jwtUtil.generateToken("farmer@farmchainx.com");
+        userDetails = new org.springframework.security.core.userdetails.User("farmer@farmchainx.com", "x",
+                List.of(new SimpleGrantedAuthority("ROLE_FARMER")));
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtUtil.generateToken("farmer@farmchainx.com");
+    }
+
+    @Benchmark
+    public String extractUsername() {
+        return jwtUtil.extractUsername(token);
+    }
+
+    @Benchmark
+    public boolean validateToken() {
+        return jwtUtil.validateToken(token, userDetails);
+    }
+}
@@ -0,0 +1,72 @@
+package com.farmchainx.benchmarks;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+// Latency histogram (microseconds, 3 significant digits) and status counts for one operation
+final class LoadStats {
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(5);
+
+    private final Histogram histogram = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3);
+    private final Map<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+    private final LongAdder errors = new LongAdder();
+
+    // status 0 means the request never got a response (connection error, timeout); anything
+    // outside 2xx counts as an error, since its latency is not the latency of the real work
+    void record(long latencyNanos, int status) {
+        histogram.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(latencyNanos), HIGHEST_TRACKABLE_MICROS));
+        statuses.computeIfAbsent(status, s -> new LongAdder()).increment();
+        if (status < 200 || status >= 300) {
+            errors.increment();
+        }
+    }
+
+    void add(LoadStats other) {
+        histogram.add(other.histogram);
+        other.statuses.forEach((status, count) ->
+                statuses.computeIfAbsent(status, s -> new LongAdder()).add(count.sum()));
+        errors.add(other.errors.sum());
+    }
+
+    long count() {
+        return histogram.getTotalCount();
+    }
+
+    double errorRate() {
+        return count() == 0 ? 0 : (double) errors.sum() / count();
+    }
+
+    Map<String, Object> summary(double seconds) {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("requests", count());
+        summary.put("errors", errors.sum());
+        summary.put("errorRate", round(errorRate()));
+        summary.put("throughputPerSec", round(count() / seconds));
+        summary.put("meanMs", round(histogram.getMean() / 1_000));
+        summary.put("p50Ms", millis(50));
+        summary.put("p95Ms", millis(95));
+        summary.put("p99Ms", millis(99));
+        summary.put("p999Ms", millis(99.9));
+        summary.put("maxMs", round(histogram.getMaxValue() / 1_000.0));
+        Map<String, Long> byStatus = new TreeMap<>();
+        statuses.forEach((status, n) -> byStatus.put(String.valueOf(status), n.sum()));
+        summary.put("statuses", byStatus);
+        return summary;
+    }
+
+    private double millis(double percentile) {
+        return round(histogram.getValueAtPercentile(percentile) / 1_000.0);
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 1_000) / 1_000.0;
+    }
+}
@@ -0,0 +1,367 @@
+package com.farmchainx.benchmarks;
+
+import com.farmchainx.farmchainx.FarmchainxApplication;
+import com.farmchainx.farmchainx.config.JwtUtil;
+import com.farmchainx.farmchainx.model.Product;
+import com.farmchainx.farmchainx.model.User;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.LockSupport;
+
+// End-to-end HTTP load driver: boots the application on a random port against in-memory H2,
+// seeds it, and drives a weighted mix of real endpoints, reporting throughput and
+// p50/p95/p99/p99.9 latency per operation (console table plus JSON in target/load-result.json).
+//
+//   java -cp target/benchmarks.jar com.farmchainx.benchmarks.LoadTest --mode=closed --threads=32
+//   java -cp target/benchmarks.jar com.farmchainx.benchmarks.LoadTest --mode=open --rate=500
+//   java -cp target/benchmarks.jar com.farmchainx.benchmarks.LoadTest --virtual-threads=true --threads=256
+//
+// Closed loop: a fixed number of clients, each sending its next request when the previous one
+// returns. Open loop: requests start on a fixed schedule whether or not earlier ones finished,
+// and latency is measured from the scheduled start, so a stalled server is not hidden by
+// clients that politely waited (coordinated omission).
+//
+// Latencies of rejected requests (401/403, 503 from load shedding) measure the rejection, not the
+// endpoint, so an operation whose non-2xx share exceeds --max-error-rate fails the run once the
+// results are written.
+public class LoadTest {
+
+    enum Operation { LOGIN, PRODUCTS, RATINGS, RATE, OVERVIEW }
+
+    private static final Map<String, String> DEFAULTS = new LinkedHashMap<>();
+
+    static {
+        DEFAULTS.put("mode", "closed");
+        DEFAULTS.put("threads", "16");
+        DEFAULTS.put("rate", "200");
+        DEFAULTS.put("max-in-flight", "1024");
+        DEFAULTS.put("warmup", "10");
+        DEFAULTS.put("duration", "30");
+        DEFAULTS.put("users", "1000");
+        DEFAULTS.put("products", "2000");
+        DEFAULTS.put("ratings-per-product", "5");
+        DEFAULTS.put("seed", "42");
+        DEFAULTS.put("mix", "products:40,ratings:35,rate:10,login:10,overview:5");
+        DEFAULTS.put("virtual-threads", "false");
+        DEFAULTS.put("max-error-rate", "0.5");
+        DEFAULTS.put("out", "target/load-result.json");
+    }
+
+    private final HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+    private final URI baseUri;
+    private final List<Long> productIds;
+    private final List<String> emails;
+    private final List<String> customerTokens;
+    private final String adminToken;
+    private final Operation[] operations;
+    private final int[] cumulativeWeights;
+
+    LoadTest(URI baseUri, List<Long> productIds, List<String> emails, List<String> customerTokens,
+             String adminToken, Map<Operation, Integer> mix) {
+        this.baseUri = baseUri;
+        this.productIds = productIds;
+        this.emails = emails;
+        this.customerTokens = customerTokens;
+        this.adminToken = adminToken;
+        this.operations = mix.keySet().toArray(new Operation[0]);
+        this.cumulativeWeights = new int[operations.length];
+        int total = 0;
+        for (int i = 0; i < operations.length; i++) {
+            total += mix.get(operations[i]);
+            cumulativeWeights[i] = total;
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parse(args);
+        Map<Operation, Integer> mix = parseMix(options.get("mix"));
+        int users = Integer.parseInt(options.get("users"));
+        int products = Integer.parseInt(options.get("products"));
+
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(FarmchainxApplication.class)
+                .run(applicationArgs(options));
+        try {
+            long seedStart = System.nanoTime();
+            SeedData.Seeded seeded = SeedData.seed(context, users, products,
+                    Integer.parseInt(options.get("ratings-per-product")), Long.parseLong(options.get("seed")));
+            System.out.printf("Seeded %d users and %d products in %.1fs%n", users, products,
+                    (System.nanoTime() - seedStart) / 1e9);
+
+            // Tokens are minted directly so the read paths don't depend on the login endpoint
+            JwtUtil jwtUtil = context.getBean(JwtUtil.class);
+            List<String> customerTokens = seeded.users().stream()
+                    .filter(user -> user.getRole() == User.Role.CUSTOMER)
+                    .limit(100)
+                    .map(user -> jwtUtil.generateToken(user.getEmail()))
+                    .toList();
+            LoadTest test = new LoadTest(
+                    URI.create("http://localhost:" + context.getEnvironment().getProperty("local.server.port")),
+                    seeded.products().stream().map(Product::getId).toList(),
+                    seeded.users().stream().map(User::getEmail).toList(),
+                    customerTokens,
+                    jwtUtil.generateToken("admin@farmchainx.com"),
+                    mix);
+            test.run(options);
+        } finally {
+            context.close();
+        }
+    }
+
+    // The server side of the comparison: Tomcat's platform-thread pool or a virtual thread per request
+    private static String[] applicationArgs(Map<String, String> options) {
+        List<String> args = new ArrayList<>(List.of(Fixtures.quietApplicationArgs("jdbc:h2:mem:load;DB_CLOSE_DELAY=-1")));
+        args.add("--spring.threads.virtual.enabled=" + Boolean.parseBoolean(options.get("virtual-threads")));
+        return args.toArray(new String[0]);
+    }
+
+    private void run(Map<String, String> options) throws IOException {
+        boolean open = switch (options.get("mode")) {
+            case "open" -> true;
+            case "closed" -> false;
+            default -> throw new IllegalArgumentException("--mode must be open or closed");
+        };
+        int threads = Integer.parseInt(options.get("threads"));
+        int rate = Integer.parseInt(options.get("rate"));
+        int maxInFlight = Integer.parseInt(options.get("max-in-flight"));
+        Duration warmup = Duration.ofSeconds(Long.parseLong(options.get("warmup")));
+        Duration duration = Duration.ofSeconds(Long.parseLong(options.get("duration")));
+
+        System.out.printf("Warming up for %ds%n", warmup.toSeconds());
+        runPhase(open, threads, rate, maxInFlight, warmup, newStats());
+
+        System.out.printf("Measuring for %ds (%s)%n", duration.toSeconds(),
+                open ? rate + " req/s open loop" : threads + " clients closed loop");
+        Map<Operation, LoadStats> stats = newStats();
+        long start = System.nanoTime();
+        long dropped = runPhase(open, threads, rate, maxInFlight, duration, stats);
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        List<String> invalid = report(options, stats, seconds, dropped);
+        if (!invalid.isEmpty()) {
+            throw new IllegalStateException("Mostly non-2xx responses for " + invalid
+                    + "; their latencies do not describe the endpoint (see statuses in " + options.get("out") + ")");
+        }
+    }
+
+    private Map<Operation, LoadStats> newStats() {
+        Map<Operation, LoadStats> stats = new EnumMap<>(Operation.class);
+        for (Operation operation : operations) {
+            stats.put(operation, new LoadStats());
+        }
+        return stats;
+    }
+
+    // Returns how many scheduled requests were skipped because max-in-flight was reached (open loop only)
+    private long runPhase(boolean open, int threads, int rate, int maxInFlight, Duration duration,
+                          Map<Operation, LoadStats> stats) {
+        return open ? openLoop(rate, maxInFlight, duration, stats) : closedLoop(threads, duration, stats);
+    }
+
+    private long closedLoop(int threads, Duration duration, Map<Operation, LoadStats> stats) {
+        long deadline = System.nanoTime() + duration.toNanos();
+        try (ExecutorService clients = Executors.newFixedThreadPool(threads)) {
+            for (int i = 0; i < threads; i++) {
+                clients.execute(() -> {
+                    while (System.nanoTime() < deadline) {
+                        Operation operation = pick();
+                        long start = System.nanoTime();
+                        int status = call(operation);
+                        stats.get(operation).record(System.nanoTime() - start, status);
+                    }
+                });
+            }
+        }
+        return 0;
+    }
+
+    private long openLoop(int rate, int maxInFlight, Duration duration, Map<Operation, LoadStats> stats) {
+        long interval = 1_000_000_000L / rate;
+        long requests = duration.toNanos() / interval;
+        Semaphore inFlight = new Semaphore(maxInFlight);
+        long dropped = 0;
+        long start = System.nanoTime();
+        try (ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (long i = 0; i < requests; i++) {
+                long scheduled = start + i * interval;
+                long wait = scheduled - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+                if (!inFlight.tryAcquire()) {
+                    dropped++;
+                    continue;
+                }
+                Operation operation = pick();
+                senders.execute(() -> {
+                    try {
+                        int status = call(operation);
+                        stats.get(operation).record(System.nanoTime() - scheduled, status);
+                    } finally {
+                        inFlight.release();
+                    }
+                });
+            }
+        }
+        return dropped;
+    }
+
+    private Operation pick() {
+        int roll = ThreadLocalRandom.current().nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (roll < cumulativeWeights[i]) {
+                return operations[i];
+            }
+        }
+        return operations[operations.length - 1];
+    }
+
+    // Returns the HTTP status, or 0 when no response arrived
+    private int call(Operation operation) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        HttpRequest request = switch (operation) {
+            case LOGIN -> json("/api/auth/login", null, "{\"email\":\"" + emails.get(random.nextInt(emails.size()))
+                    + "\",\"password\":\"" + SeedData.PASSWORD + "\"}");
+            case PRODUCTS -> get("/api/products", customerToken(random)).header("Accept-Encoding", "gzip").build();
+            case RATINGS -> get("/api/products/" + hotProduct(random) + "/ratings", customerToken(random)).build();
+            case RATE -> json("/api/products/" + hotProduct(random) + "/ratings", customerToken(random),
+                    "{\"stars\":" + (1 + random.nextInt(5)) + ",\"comment\":\"Load test rating\"}");
+            case OVERVIEW -> get("/api/admin/overview", adminToken).build();
+        };
+        try {
+            return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+        } catch (IOException e) {
+            return 0;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return 0;
+        }
+    }
+
+    // Skewed towards the first products, the way a few listings draw most of the traffic
+    private long hotProduct(ThreadLocalRandom random) {
+        double u = random.nextDouble();
+        return productIds.get((int) (productIds.size() * u * u));
+    }
+
+    private String customerToken(ThreadLocalRandom random) {
+        return customerTokens.get(random.nextInt(customerTokens.size()));
+    }
+
+    private HttpRequest.Builder get(String path, String token) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(baseUri.resolve(path))
+                .timeout(Duration.ofSeconds(30))
+                .GET();
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder;
+    }
+
+    private HttpRequest json(String path, String token, String body) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(baseUri.resolve(path))
+                .timeout(Duration.ofSeconds(30))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body));
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder.build();
+    }
+
+    // Returns the operations whose error rate exceeded --max-error-rate
+    private List<String> report(Map<String, String> options, Map<Operation, LoadStats> stats, double seconds,
+                                long dropped) throws IOException {
+        double maxErrorRate = Double.parseDouble(options.get("max-error-rate"));
+        List<String> invalid = new ArrayList<>();
+        LoadStats total = new LoadStats();
+        Map<String, Object> byOperation = new LinkedHashMap<>();
+        System.out.printf("%n%-10s %9s %7s %9s %9s %9s %9s %9s %9s%n",
+                "operation", "requests", "errors", "req/s", "p50 ms", "p95 ms", "p99 ms", "p99.9 ms", "max ms");
+        for (Map.Entry<Operation, LoadStats> entry : stats.entrySet()) {
+            total.add(entry.getValue());
+            Map<String, Object> summary = entry.getValue().summary(seconds);
+            byOperation.put(entry.getKey().name().toLowerCase(), summary);
+            printRow(entry.getKey().name().toLowerCase(), summary);
+            if (entry.getValue().errorRate() > maxErrorRate) {
+                invalid.add(entry.getKey().name().toLowerCase());
+            }
+        }
+        Map<String, Object> totals = total.summary(seconds);
+        printRow("total", totals);
+        for (String name : invalid) {
+            Map<?, ?> summary = (Map<?, ?>) byOperation.get(name);
+            System.out.printf("WARNING %s: error rate %s, statuses %s%n", name, summary.get("errorRate"), summary.get("statuses"));
+        }
+        if (dropped > 0) {
+            System.out.printf("%d scheduled requests skipped: more than %s in flight%n", dropped, options.get("max-in-flight"));
+        }
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("options", options);
+        result.put("seconds", Math.round(seconds * 1_000) / 1_000.0);
+        result.put("dropped", dropped);
+        result.put("operations", byOperation);
+        result.put("total", totals);
+        result.put("invalidOperations", invalid);
+        File out = new File(options.get("out"));
+        if (out.getParentFile() != null) {
+            out.getParentFile().mkdirs();
+        }
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(out, result);
+        System.out.println("Results written to " + out);
+        return invalid;
+    }
+
+    private static void printRow(String name, Map<String, Object> summary) {
+        System.out.printf("%-10s %9d %7d %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n", name,
+                summary.get("requests"), summary.get("errors"), summary.get("throughputPerSec"),
+                summary.get("p50Ms"), summary.get("p95Ms"), summary.get("p99Ms"), summary.get("p999Ms"),
+                summary.get("maxMs"));
+    }
+
+    // --name=value pairs over DEFAULTS; unknown names are rejected so typos don't silently run defaults
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new LinkedHashMap<>(DEFAULTS);
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (!arg.startsWith("--") || eq < 0 || !DEFAULTS.containsKey(arg.substring(2, eq))) {
+                throw new IllegalArgumentException("Unknown option " + arg + "; expected --name=value with name one of "
+                        + DEFAULTS.keySet());
+            }
+            options.put(arg.substring(2, eq), arg.substring(eq + 1));
+        }
+        return options;
+    }
+
+    // "products:40,rate:10" -> relative weights; operations left out are not sent
+    private static Map<Operation, Integer> parseMix(String mix) {
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        for (String part : mix.split(",")) {
+            String[] nameAndWeight = part.trim().split(":");
+            Operation operation = Operation.valueOf(nameAndWeight[0].trim().toUpperCase());
+            int weight = Integer.parseInt(nameAndWeight[1].trim());
+            if (weight > 0) {
+                weights.put(operation, weight);
+            }
+        }
+        if (weights.isEmpty()) {
+            throw new IllegalArgumentException("--mix needs at least one operation with a positive weight");
+        }
+        return weights;
+    }
+}
@@ -0,0 +1,124 @@
+package com.farmchainx.benchmarks;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.OutputStreamAppender;
+import ch.qos.logback.core.encoder.Encoder;
+import com.farmchainx.farmchainx.config.LogSamplingFilter;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.logging.logback.StructuredLogEncoder;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.StandardEnvironment;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.util.concurrent.TimeUnit;
+
+// The logging done by one request (an application INFO line and three DEBUG SQL statements) through
+// the development setup, Boot's pattern layout written synchronously on the request thread, against
+// the prod profile's async JSON appender with and without DEBUG sampling. Output goes to the null
+// device through an unbuffered stream, so every event still pays the write system call a console
+// pays. The async appender never blocks: once its queue is 80% full it drops sub-WARN events, so
+// under sustained overload part of its advantage is shed log volume, as it would be in production.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(4)
+@Fork(1)
+public class LoggingBenchmark {
+
+    private static final String PATTERN = "%d{yyyy-MM-dd'T'HH:mm:ss.SSSXXX} %5p --- [%15.15t] %-40.40logger{39} : %m%n";
+    private static final String SQL = """
+            select
+                p1_0.id,
+                p1_0.average_rating,
+                p1_0.crop_type,
+                p1_0.farmer_id,
+                p1_0.name,
+                p1_0.price
+            from
+                products p1_0
+            where
+                p1_0.id=?""";
+
+    @Param({"sync-pattern", "async-json", "async-json-sampled"})
+    public String setup;
+
+    private LoggerContext context;
+    private Logger application;
+    private Logger sql;
+
+    @Setup(org.openjdk.jmh.annotations.Level.Trial)
+    public void setUp() throws FileNotFoundException {
+        context = new LoggerContext();
+        context.putObject(Environment.class.getName(), new StandardEnvironment());
+
+        OutputStreamAppender<ILoggingEvent> console = new OutputStreamAppender<>();
+        console.setContext(context);
+        console.setEncoder(setup.equals("sync-pattern") ? patternEncoder() : jsonEncoder());
+        console.setOutputStream(new FileOutputStream(File.separatorChar == '\\' ? "NUL" : "/dev/null"));
+        console.start();
+
+        Appender<ILoggingEvent> root = console;
+        if (!setup.equals("sync-pattern")) {
+            AsyncAppender async = new AsyncAppender();
+            async.setContext(context);
+            async.setQueueSize(8192);
+            async.setNeverBlock(true);
+            async.addAppender(console);
+            async.start();
+            root = async;
+        }
+        if (setup.equals("async-json-sampled")) {
+            LogSamplingFilter sampling = new LogSamplingFilter();
+            sampling.setContext(context);
+            sampling.setRules("org.hibernate.SQL=100,com.farmchainx=10");
+            sampling.start();
+            context.addTurboFilter(sampling);
+        }
+
+        Logger rootLogger = context.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME);
+        rootLogger.setLevel(Level.INFO);
+        rootLogger.addAppender(root);
+        application = context.getLogger("com.farmchainx.farmchainx.controller.ProductController");
+        sql = context.getLogger("org.hibernate.SQL");
+        sql.setLevel(Level.DEBUG);
+    }
+
+    private Encoder<ILoggingEvent> patternEncoder() {
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(context);
+        encoder.setPattern(PATTERN);
+        encoder.start();
+        return encoder;
+    }
+
+    private Encoder<ILoggingEvent> jsonEncoder() {
+        StructuredLogEncoder encoder = new StructuredLogEncoder();
+        encoder.setContext(context);
+        encoder.setFormat("ecs");
+        encoder.start();
+        return encoder;
+    }
+
+    @Benchmark
+    public void request() {
+        application.info("Listed {} products for {}", 20, "customer@farmchainx.com");
+        for (int i = 0; i < 3; i++) {
+            sql.debug(SQL);
+        }
+    }
+
+    @TearDown(org.openjdk.jmh.annotations.Level.Trial)
+    public void tearDown() {
+        context.stop();
+    }
+}
@@ -0,0 +1,105 @@
+package com.farmchainx.benchmarks;
+
+import com.farmchainx.farmchainx.model.OrderFill;
+import com.farmchainx.farmchainx.model.RetailerBid;
+import com.farmchainx.farmchainx.service.MatchingEngine;
+import com.farmchainx.farmchainx.service.OrderBook;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+// The order matching engine: raw matching on one book and one thread, and end to end through the
+// sequencers (submit -> matched -> future completed) with concurrent clients. Orders are random bids
+// and listings around one price band, so roughly half of them trade.
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OrderBookBenchmark {
+
+    private static final String[] CROPS = {"rice", "wheat", "maize", "tomato", "onion", "potato", "mango", "banana"};
+    private static final int LISTED_PRODUCTS = 5_000;
+
+    // A fresh book per iteration, so resting orders do not pile up across the run
+    @State(Scope.Thread)
+    public static class SingleBook {
+
+        private OrderBook book;
+        private SplittableRandom random;
+        private long nextBidId;
+
+        @Setup(Level.Iteration)
+        public void setUp() {
+            book = new OrderBook("rice");
+            random = new SplittableRandom(42);
+        }
+
+        List<OrderFill> next() {
+            double price = 90 + random.nextInt(21);
+            int quantity = 1 + random.nextInt(50);
+            if (random.nextBoolean()) {
+                return book.placeBid(new RetailerBid(nextBidId++, 1L, "rice", quantity, price));
+            }
+            return book.placeListing((long) random.nextInt(LISTED_PRODUCTS), price, quantity);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Engine {
+
+        private MatchingEngine engine;
+        private final LongAdder fills = new LongAdder();
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            engine = new MatchingEngine(4, matched -> fills.add(matched.size()));
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            engine.shutdown();
+        }
+    }
+
+    // One per benchmark thread, each with its own order stream
+    @State(Scope.Thread)
+    public static class Client {
+
+        private static final AtomicInteger CLIENTS = new AtomicInteger();
+
+        private long retailerId;
+        private SplittableRandom random;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            retailerId = CLIENTS.incrementAndGet();
+            random = new SplittableRandom(retailerId);
+        }
+    }
+
+    @Benchmark
+    public List<OrderFill> singleBook(SingleBook book) {
+        return book.next();
+    }
+
+    // Sampled, so the report includes the latency percentiles clients see
+    @Benchmark
+    @Threads(8)
+    @BenchmarkMode(Mode.SampleTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public List<OrderFill> engine(Engine engine, Client client) {
+        SplittableRandom random = client.random;
+        String crop = CROPS[random.nextInt(CROPS.length)];
+        double price = 90 + random.nextInt(21);
+        int quantity = 1 + random.nextInt(50);
+        return (random.nextBoolean()
+                ? engine.engine.submitBid(client.retailerId, crop, quantity, price)
+                : engine.engine.submitListing((long) random.nextInt(LISTED_PRODUCTS), crop, price, quantity))
+                .join();
+    }
+}
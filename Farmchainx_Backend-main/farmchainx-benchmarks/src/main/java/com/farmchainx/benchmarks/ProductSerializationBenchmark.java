@@ -0,0 +1,58 @@
+package com.farmchainx.benchmarks;
+
+import com.farmchainx.farmchainx.model.Product;
+import com.farmchainx.farmchainx.service.ProductJsonWriter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Product list responses: reflective entity serialization vs ProductJsonWriter with all fields and
+// with a grid-view ?fields= selection. Run with -prof gc for the allocation per response.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProductSerializationBenchmark {
+
+    private static final String GRID_FIELDS = "id,name,price,imageUrl";
+
+    @Param({"50", "500"})
+    public int size;
+
+    private ObjectMapper objectMapper;
+    private ProductJsonWriter writer;
+    private ProductJsonWriter.Selection grid;
+    private List<Product> products;
+
+    @Setup
+    public void setUp() {
+        // Configured the way Spring Boot configures its ObjectMapper
+        objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        writer = new ProductJsonWriter(objectMapper);
+        grid = writer.select(GRID_FIELDS);
+        products = Fixtures.products(size, 42);
+    }
+
+    @Benchmark
+    public byte[] entity() throws Exception {
+        return objectMapper.writeValueAsBytes(products);
+    }
+
+    @Benchmark
+    public byte[] writerAllFields() {
+        return writer.writeList(products, ProductJsonWriter.ALL_FIELDS);
+    }
+
+    @Benchmark
+    public byte[] writerGridFields() {
+        return writer.writeList(products, grid);
+    }
+}
@@ -0,0 +1,80 @@
+package com.farmchainx.benchmarks;
+
+import com.farmchainx.farmchainx.model.Product;
+import com.farmchainx.farmchainx.model.Purchase;
+import com.farmchainx.farmchainx.model.Rating;
+import com.farmchainx.farmchainx.model.User;
+import com.farmchainx.farmchainx.repository.ProductRepository;
+import com.farmchainx.farmchainx.repository.PurchaseRepository;
+import com.farmchainx.farmchainx.repository.RatingRepository;
+import com.farmchainx.farmchainx.repository.UserRepository;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+// Fills a booted application's database with synthetic users, products, ratings and purchases.
+// Every seeded user shares one password so load tests can log in as any of them.
+final class SeedData {
+
+    static final String PASSWORD = "bench-password";
+
+    record Seeded(List<User> users, List<Product> products) {
+    }
+
+    private SeedData() {
+    }
+
+    static Seeded seed(ConfigurableApplicationContext context, int userCount, int productCount,
+                       int ratingsPerProduct, long seed) {
+        UserRepository userRepository = context.getBean(UserRepository.class);
+        ProductRepository productRepository = context.getBean(ProductRepository.class);
+        RatingRepository ratingRepository = context.getBean(RatingRepository.class);
+        PurchaseRepository purchaseRepository = context.getBean(PurchaseRepository.class);
+        SplittableRandom random = new SplittableRandom(seed);
+
+        // One BCrypt hash for everybody: encoding per user would dominate the seeding time
+        String passwordHash = context.getBean(PasswordEncoder.class).encode(PASSWORD);
+        User.Role[] roles = User.Role.values();
+        List<User> users = new ArrayList<>(userCount);
+        for (int i = 0; i < userCount; i++) {
+            User user = Fixtures.user(0, roles[random.nextInt(roles.length)]);
+            user.setId(null);
+            user.setEmail("bench" + i + "@farmchainx.com");
+            user.setPassword(passwordHash);
+            user.setCreatedAt(LocalDateTime.now().minusDays(random.nextInt(90)));
+            users.add(user);
+        }
+        users = userRepository.saveAll(users);
+
+        List<Product> products = Fixtures.products(productCount, seed);
+        for (Product product : products) {
+            product.setId(null);
+            product.setFarmer(users.get(random.nextInt(users.size())));
+        }
+        products = productRepository.saveAll(products);
+
+        List<Rating> ratings = new ArrayList<>();
+        List<Purchase> purchases = new ArrayList<>();
+        for (int i = 0; i < productCount * ratingsPerProduct; i++) {
+            Product product = products.get(random.nextInt(products.size()));
+            User user = users.get(random.nextInt(users.size()));
+
+            Rating rating = new Rating();
+            rating.setStars(1 + random.nextInt(5));
+            rating.setComment("Fresh");
+            rating.setProduct(product);
+            rating.setUser(user);
+            ratings.add(rating);
+
+            int quantity = 1 + random.nextInt(20);
+            purchases.add(new Purchase(quantity, quantity * product.getPrice(), product, user));
+        }
+        ratingRepository.saveAll(ratings);
+        purchaseRepository.saveAll(purchases);
+        return new Seeded(users, products);
+    }
+}
@@ -0,0 +1,89 @@
+package com.farmchainx.farmchainx.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+// A semaphore bulkhead: at most maxConcurrent callers inside, later ones queue in arrival order for
+// up to maxWait and are then turned away. Reports its saturation as bulkhead.* meters tagged by name.
+public class Bulkhead {
+
+    private final String name;
+    private final int maxConcurrent;
+    private final Duration maxWait;
+    private final Semaphore permits;
+    private final Timer waits;
+    private final Counter rejections;
+
+    public Bulkhead(String name, int maxConcurrent, Duration maxWait, MeterRegistry meterRegistry) {
+        this.name = name;
+        this.maxConcurrent = maxConcurrent;
+        this.maxWait = maxWait;
+        this.permits = new Semaphore(maxConcurrent, true);
+        this.waits = Timer.builder("bulkhead.wait")
+                .description("Time spent queueing to enter the bulkhead")
+                .tag("group", name)
+                .register(meterRegistry);
+        this.rejections = Counter.builder("bulkhead.rejected")
+                .description("Calls turned away after waiting the bulkhead's maximum")
+                .tag("group", name)
+                .register(meterRegistry);
+        Gauge.builder("bulkhead.max", this, Bulkhead::maxConcurrent)
+                .description("Calls allowed inside the bulkhead at once")
+                .tag("group", name)
+                .register(meterRegistry);
+        Gauge.builder("bulkhead.active", this, Bulkhead::active)
+                .description("Calls currently inside the bulkhead")
+                .tag("group", name)
+                .register(meterRegistry);
+        Gauge.builder("bulkhead.waiting", permits, Semaphore::getQueueLength)
+                .description("Calls queued to enter the bulkhead")
+                .tag("group", name)
+                .register(meterRegistry);
+        Gauge.builder("bulkhead.saturation", this, bulkhead -> (double) bulkhead.active() / bulkhead.maxConcurrent)
+                .description("Share of the bulkhead in use, 0 to 1")
+                .tag("group", name)
+                .register(meterRegistry);
+    }
+
+    // Returns false when no permit freed up within maxWait; the caller must exit() only after true
+    public boolean tryEnter() throws InterruptedException {
+        // The timed form even for the fast path: plain tryAcquire() would barge past queued callers
+        if (permits.tryAcquire(0, TimeUnit.NANOSECONDS)) {
+            waits.record(0, TimeUnit.NANOSECONDS);
+            return true;
+        }
+        long start = System.nanoTime();
+        boolean entered = permits.tryAcquire(maxWait.toNanos(), TimeUnit.NANOSECONDS);
+        waits.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        if (!entered) {
+            rejections.increment();
+        }
+        return entered;
+    }
+
+    public void exit() {
+        permits.release();
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public int maxConcurrent() {
+        return maxConcurrent;
+    }
+
+    public Duration maxWait() {
+        return maxWait;
+    }
+
+    public int active() {
+        return maxConcurrent - permits.availablePermits();
+    }
+}
@@ -0,0 +1,121 @@
+package com.farmchainx.farmchainx.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+
+// Keeps the endpoint groups from starving each other of request threads and connections: each group
+// gets its own Bulkhead (bulkhead.<group>.max-concurrent / max-wait), and a request that cannot get
+// in within its group's wait is answered 503 straight away. With open-in-view a request keeps its
+// connection until it completes, so a group's max-concurrent is also the most pool connections it
+// can hold: admin analytics at 2 leaves the rest of the pool to buyers whatever the dashboard does.
+// Runs ahead of Spring Security so a rejected request costs no token check or user lookup.
+// Paths outside the groups (orders, auctions, sync, actuator) are not limited.
+@Component
+@Order(1)
+public class BulkheadFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(BulkheadFilter.class);
+
+    enum Group {
+        AUTH(16, Duration.ofSeconds(2)),
+        CATALOG(64, Duration.ofSeconds(1)),
+        RATINGS(32, Duration.ofSeconds(1)),
+        ADMIN(2, Duration.ofSeconds(5));
+
+        private final int defaultMaxConcurrent;
+        private final Duration defaultMaxWait;
+
+        Group(int defaultMaxConcurrent, Duration defaultMaxWait) {
+            this.defaultMaxConcurrent = defaultMaxConcurrent;
+            this.defaultMaxWait = defaultMaxWait;
+        }
+
+        // Ratings live under /api/products, so they are told apart by the path segment
+        static Group of(String uri) {
+            if (uri.startsWith("/api/auth/")) {
+                return AUTH;
+            }
+            if (uri.startsWith("/api/admin/") || uri.equals("/api/admin")) {
+                return ADMIN;
+            }
+            if (uri.startsWith("/api/products")) {
+                return uri.contains("/ratings/") || uri.endsWith("/ratings") ? RATINGS : CATALOG;
+            }
+            if (uri.startsWith("/uploads/")) {
+                return CATALOG;
+            }
+            return null;
+        }
+    }
+
+    private final Map<Group, Bulkhead> bulkheads = new EnumMap<>(Group.class);
+
+    public BulkheadFilter(Environment environment, MeterRegistry meterRegistry) {
+        for (Group group : Group.values()) {
+            String name = group.name().toLowerCase(Locale.ROOT);
+            int maxConcurrent = environment.getProperty("bulkhead." + name + ".max-concurrent", Integer.class,
+                    group.defaultMaxConcurrent);
+            Duration maxWait = environment.getProperty("bulkhead." + name + ".max-wait", Duration.class,
+                    group.defaultMaxWait);
+            bulkheads.put(group, new Bulkhead(name, maxConcurrent, maxWait, meterRegistry));
+        }
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+
+        Group group = Group.of(request.getRequestURI());
+        if (group == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        Bulkhead bulkhead = bulkheads.get(group);
+        boolean entered;
+        try {
+            entered = bulkhead.tryEnter();
+        } catch (InterruptedException e) {
+            // Interrupted while queueing (shutdown, or the container gave up on the request): still
+            // answer, or the client would see an empty 200
+            Thread.currentThread().interrupt();
+            entered = false;
+        }
+        if (!entered) {
+            logger.warn("Rejected {} {}: {} bulkhead full ({} in use)", request.getMethod(), request.getRequestURI(),
+                    bulkhead.name(), bulkhead.active());
+            reject(response, bulkhead);
+            return;
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            bulkhead.exit();
+        }
+    }
+
+    private static void reject(HttpServletResponse response, Bulkhead bulkhead) throws IOException {
+        response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+        response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getWriter().write("{\"error\":\"Too many " + bulkhead.name() + " requests; try again shortly\"}");
+    }
+}
@@ -0,0 +1,32 @@
+package com.farmchainx.farmchainx.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class ConcurrencyLimitConfig {
+
+    @Bean
+    public ConcurrencyLimitFilter concurrencyLimitFilter(MeterRegistry meterRegistry,
+                                                         @Value("${concurrency.limit.initial:64}") int initialLimit,
+                                                         @Value("${concurrency.limit.min:8}") int minLimit,
+                                                         @Value("${concurrency.limit.max:200}") int maxLimit,
+                                                         @Value("${concurrency.limit.smoothing:0.2}") double smoothing,
+                                                         @Value("${concurrency.limit.tolerance:1.5}") double tolerance,
+                                                         @Value("${concurrency.limit.retry-after-seconds:1}") int retryAfterSeconds) {
+        GradientConcurrencyLimit limit = new GradientConcurrencyLimit(initialLimit, minLimit, maxLimit, smoothing, tolerance);
+        return new ConcurrencyLimitFilter(limit, retryAfterSeconds, meterRegistry);
+    }
+
+    // The filter runs inside the security chain (SecurityConfig); keep Boot from also registering
+    // it with the servlet container
+    @Bean
+    public FilterRegistrationBean<ConcurrencyLimitFilter> concurrencyLimitFilterRegistration(ConcurrencyLimitFilter filter) {
+        FilterRegistrationBean<ConcurrencyLimitFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.setEnabled(false);
+        return registration;
+    }
+}
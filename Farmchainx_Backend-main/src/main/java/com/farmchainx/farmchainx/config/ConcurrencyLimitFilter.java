@@ -0,0 +1,116 @@
+package com.farmchainx.farmchainx.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+
+// Sheds load once the adaptive in-flight limit (GradientConcurrencyLimit) is reached, answering 503
+// with Retry-After instead of letting requests queue until they time out. Requests are admitted by
+// priority: sign-in and bids may use the whole limit, ordinary traffic 90% of it and admin and sync
+// half, so as the database slows down the expendable traffic is turned away first.
+// Sits in the security chain just ahead of JwtAuthFilter (after CORS, so browsers can read the 503),
+// which keeps the token check and user lookup off shed requests. Health and scrape requests are exempt.
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(ConcurrencyLimitFilter.class);
+
+    enum Priority {
+        CRITICAL(1.0),
+        NORMAL(0.9),
+        SHEDDABLE(0.5);
+
+        private final double share;
+
+        Priority(double share) {
+            this.share = share;
+        }
+
+        static Priority of(HttpServletRequest request) {
+            String uri = request.getRequestURI();
+            if (uri.startsWith("/actuator/") || uri.startsWith("/h2-console/")) {
+                return null;
+            }
+            boolean post = request.getMethod().equals("POST");
+            if (post && (uri.equals("/api/auth/login") || uri.equals("/api/auth/register"))) {
+                return CRITICAL;
+            }
+            // Bids are this marketplace's checkout
+            if (uri.startsWith("/api/orders/bids") || (post && uri.startsWith("/api/auctions/") && uri.endsWith("/bids"))) {
+                return CRITICAL;
+            }
+            if (uri.startsWith("/api/admin/") || uri.startsWith("/api/sync")) {
+                return SHEDDABLE;
+            }
+            return NORMAL;
+        }
+    }
+
+    private final GradientConcurrencyLimit limit;
+    private final int retryAfterSeconds;
+    private final Map<Priority, Counter> rejections = new EnumMap<>(Priority.class);
+
+    public ConcurrencyLimitFilter(GradientConcurrencyLimit limit, int retryAfterSeconds, MeterRegistry meterRegistry) {
+        this.limit = limit;
+        this.retryAfterSeconds = retryAfterSeconds;
+        Gauge.builder("http.server.concurrency.limit", limit, GradientConcurrencyLimit::limit)
+                .description("Current adaptive limit on requests in flight")
+                .register(meterRegistry);
+        Gauge.builder("http.server.concurrency.in.flight", limit, GradientConcurrencyLimit::inFlight)
+                .description("Requests currently admitted by the concurrency limiter")
+                .register(meterRegistry);
+        for (Priority priority : Priority.values()) {
+            rejections.put(priority, Counter.builder("http.server.concurrency.rejected")
+                    .description("Requests shed by the concurrency limiter")
+                    .tag("priority", priority.name().toLowerCase(Locale.ROOT))
+                    .register(meterRegistry));
+        }
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+
+        Priority priority = Priority.of(request);
+        if (priority == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        if (!limit.tryAcquire(priority.share)) {
+            rejections.get(priority).increment();
+            logger.debug("Shed {} {} ({}): {} in flight, limit {}", request.getMethod(), request.getRequestURI(),
+                    priority, limit.inFlight(), limit.limit());
+            response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+            response.setHeader(HttpHeaders.RETRY_AFTER, Integer.toString(retryAfterSeconds));
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.getWriter().write("{\"error\":\"Server is busy; try again shortly\"}");
+            return;
+        }
+
+        long start = System.nanoTime();
+        boolean completed = false;
+        try {
+            filterChain.doFilter(request, response);
+            completed = true;
+        } finally {
+            // A stream's duration and a failed request's status say nothing about how loaded the server is
+            boolean sample = completed && !request.isAsyncStarted() && response.getStatus() < 500;
+            limit.release(System.nanoTime() - start, sample);
+        }
+    }
+}
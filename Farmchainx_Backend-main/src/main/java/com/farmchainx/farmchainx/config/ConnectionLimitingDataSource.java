@@ -0,0 +1,134 @@
+package com.farmchainx.farmchainx.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Admits at most `permits` borrowed connections at a time, queueing the rest in arrival order for up
+// to `timeout`. Meant for virtual-thread request execution, where nothing bounds how many requests
+// reach the database at once: sized to the pool, it turns a stampede on the pool into a fair queue
+// with its own, shorter wait and metrics (db.limiter.*). A permit is held from getConnection until
+// the connection is closed, which is exactly the time a pool connection is checked out.
+// Meters are tagged with the pool's bean name, one limiter per pool. Closing the limiter closes the
+// pool, so the pool bean's destroy method still runs.
+public class ConnectionLimitingDataSource extends DelegatingDataSource implements AutoCloseable {
+
+    private final Semaphore permits;
+    private final long timeoutNanos;
+    private final Timer waits;
+    private final Counter rejections;
+
+    public ConnectionLimitingDataSource(DataSource target, String pool, int permits, Duration timeout, MeterRegistry meterRegistry) {
+        super(target);
+        this.permits = new Semaphore(permits, true);
+        this.timeoutNanos = timeout.toNanos();
+        this.waits = Timer.builder("db.limiter.wait")
+                .description("Time spent waiting for a database permit")
+                .tag("pool", pool)
+                .register(meterRegistry);
+        this.rejections = Counter.builder("db.limiter.rejected")
+                .description("Connection requests that timed out waiting for a permit")
+                .tag("pool", pool)
+                .register(meterRegistry);
+        Gauge.builder("db.limiter.permits", () -> permits)
+                .description("Concurrent connections allowed by the limiter")
+                .tag("pool", pool)
+                .register(meterRegistry);
+        Gauge.builder("db.limiter.available", this.permits, Semaphore::availablePermits)
+                .description("Permits not currently held")
+                .tag("pool", pool)
+                .register(meterRegistry);
+        Gauge.builder("db.limiter.waiting", this.permits, Semaphore::getQueueLength)
+                .description("Threads queued for a permit")
+                .tag("pool", pool)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        acquire();
+        return limited(() -> super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        acquire();
+        return limited(() -> super.getConnection(username, password));
+    }
+
+    @Override
+    public void close() throws Exception {
+        if (getTargetDataSource() instanceof AutoCloseable target) {
+            target.close();
+        }
+    }
+
+    private void acquire() throws SQLException {
+        long start = System.nanoTime();
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(timeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Interrupted waiting for a database permit", e);
+        }
+        waits.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        if (!acquired) {
+            rejections.increment();
+            throw new SQLTransientConnectionException("No database permit within "
+                    + TimeUnit.NANOSECONDS.toMillis(timeoutNanos) + " ms; " + permits.getQueueLength() + " waiting");
+        }
+    }
+
+    private interface ConnectionSource {
+        Connection get() throws SQLException;
+    }
+
+    // Hands out a connection whose first close() gives the permit back
+    private Connection limited(ConnectionSource source) throws SQLException {
+        Connection connection;
+        try {
+            connection = source.get();
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+        AtomicBoolean released = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("equals")) {
+                        return proxy == args[0];
+                    }
+                    if (method.getName().equals("hashCode")) {
+                        return System.identityHashCode(proxy);
+                    }
+                    if (method.getName().equals("close") && released.compareAndSet(false, true)) {
+                        try {
+                            return method.invoke(connection, args);
+                        } catch (InvocationTargetException e) {
+                            throw e.getTargetException();
+                        } finally {
+                            permits.release();
+                        }
+                    }
+                    try {
+                        return method.invoke(connection, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getTargetException();
+                    }
+                });
+    }
+}
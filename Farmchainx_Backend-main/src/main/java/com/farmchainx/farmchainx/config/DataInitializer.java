@@ -2,13 +2,20 @@ package com.farmchainx.farmchainx.config;
 
 import com.farmchainx.farmchainx.model.User;
 import com.farmchainx.farmchainx.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.boot.CommandLineRunner;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Component;
 
 @Component
+@Order(Ordered.HIGHEST_PRECEDENCE) // demo accounts first, before any bulk seeding
 public class DataInitializer implements CommandLineRunner {
 
+    private static final Logger logger = LoggerFactory.getLogger(DataInitializer.class);
+
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
 
@@ -54,7 +61,7 @@ public class DataInitializer implements CommandLineRunner {
             userRepository.save(customer);
             userRepository.save(retailer);
 
-            System.out.println("Demo users created successfully!");
+            logger.info("Demo users created");
         }
     }
 }
\ No newline at end of file
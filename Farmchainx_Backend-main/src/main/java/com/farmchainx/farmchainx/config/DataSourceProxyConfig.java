@@ -0,0 +1,65 @@
+package com.farmchainx.farmchainx.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+// Wraps the application DataSource (the bean named dataSource) so every statement passes through
+// SqlStatementTracker. With a read replica configured that bean is the routing proxy, so statements
+// are tracked once whichever pool serves them.
+// The proxy unwraps to the pool, so the Hikari metrics and health check still find it.
+// With db.limiter.enabled (on by default when requests run on virtual threads) every Hikari pool
+// (dataSource itself, or primaryDataSource and replicaDataSource) is put behind its own
+// ConnectionLimitingDataSource; db.limiter.permits=0 sizes each limiter to its pool.
+@Component
+public class DataSourceProxyConfig implements BeanPostProcessor {
+
+    private static final Logger logger = LoggerFactory.getLogger(DataSourceProxyConfig.class);
+
+    // Looked up lazily: post-processors are created before ordinary beans
+    private final ObjectProvider<SqlStatementTracker> tracker;
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+    private final boolean limiterEnabled;
+    private final int limiterPermits;
+    private final Duration limiterTimeout;
+
+    public DataSourceProxyConfig(ObjectProvider<SqlStatementTracker> tracker,
+                                 ObjectProvider<MeterRegistry> meterRegistry,
+                                 @Value("${db.limiter.enabled:${spring.threads.virtual.enabled:false}}") boolean limiterEnabled,
+                                 @Value("${db.limiter.permits:0}") int limiterPermits,
+                                 @Value("${db.limiter.timeout:5s}") Duration limiterTimeout) {
+        this.tracker = tracker;
+        this.meterRegistry = meterRegistry;
+        this.limiterEnabled = limiterEnabled;
+        this.limiterPermits = limiterPermits;
+        this.limiterTimeout = limiterTimeout;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource && !(bean instanceof ProxyDataSource)) {
+            if (limiterEnabled && bean instanceof HikariDataSource pool) {
+                int permits = limiterPermits > 0 ? limiterPermits : pool.getMaximumPoolSize();
+                logger.info("Limiting {} to {} concurrent connections (wait up to {})", beanName, permits, limiterTimeout);
+                dataSource = new ConnectionLimitingDataSource(dataSource, beanName, permits, limiterTimeout, meterRegistry.getObject());
+            }
+            if (beanName.equals("dataSource")) {
+                return ProxyDataSourceBuilder.create(beanName, dataSource)
+                        .listener(tracker.getObject())
+                        .build();
+            }
+            return dataSource;
+        }
+        return bean;
+    }
+}
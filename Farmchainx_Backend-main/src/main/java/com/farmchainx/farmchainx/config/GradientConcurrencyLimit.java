@@ -0,0 +1,89 @@
+package com.farmchainx.farmchainx.config;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+// An in-flight limit that adapts to latency, after the gradient algorithm of Netflix's
+// concurrency-limits. Two averages of the request time are kept: a short one (about the last 10
+// requests) and a long one (about the last 500), taken as the no-queueing baseline. Their ratio is
+// the gradient: while the short average stays within `tolerance` of the baseline the limit grows by
+// about sqrt(limit) per sample, and as requests start queueing (short/long rising) it shrinks by
+// up to half. Changes are smoothed and kept within [minLimit, maxLimit].
+public class GradientConcurrencyLimit {
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double smoothing;
+    private final double tolerance;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile double limit;
+
+    // Guarded by this
+    private double shortRtt;
+    private double longRtt;
+    private boolean sampled;
+
+    public GradientConcurrencyLimit(int initialLimit, int minLimit, int maxLimit, double smoothing, double tolerance) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.smoothing = smoothing;
+        this.tolerance = tolerance;
+        this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+    }
+
+    // Admits a request while fewer than share * limit are in flight; share < 1 leaves headroom for
+    // more important requests. Every true must be matched by one release.
+    public boolean tryAcquire(double share) {
+        int allowed = Math.max(1, (int) (limit * share));
+        while (true) {
+            int current = inFlight.get();
+            if (current >= allowed) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    // rttNanos is only used when sample is true; pass false for requests whose time says nothing
+    // about load (streams, failures before any work)
+    public void release(long rttNanos, boolean sample) {
+        int inFlightBefore = inFlight.getAndDecrement();
+        if (sample) {
+            update(rttNanos, inFlightBefore);
+        }
+    }
+
+    private synchronized void update(long rttNanos, int inFlightBefore) {
+        if (!sampled) {
+            shortRtt = rttNanos;
+            longRtt = rttNanos;
+            sampled = true;
+            return;
+        }
+        shortRtt = shortRtt * 0.9 + rttNanos * 0.1;
+        longRtt = longRtt * 0.998 + rttNanos * 0.002;
+        // After an overload the baseline is inflated; pull it down faster than smoothing would
+        if (longRtt / shortRtt > 2) {
+            longRtt *= 0.95;
+        }
+        // Under light load the latency says nothing about where the limit should be
+        if (inFlightBefore < limit / 2) {
+            return;
+        }
+
+        double gradient = Math.max(0.5, Math.min(1.0, tolerance * longRtt / shortRtt));
+        double target = limit * gradient + Math.sqrt(limit);
+        double next = limit * (1 - smoothing) + target * smoothing;
+        limit = Math.max(minLimit, Math.min(maxLimit, next));
+    }
+
+    public int limit() {
+        return (int) limit;
+    }
+
+    public int inFlight() {
+        return inFlight.get();
+    }
+}
@@ -1,6 +1,8 @@
 package com.farmchainx.farmchainx.config;
 
 import com.farmchainx.farmchainx.service.AuthService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -10,23 +12,39 @@ import org.slf4j.LoggerFactory;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 @Component
 public class JwtAuthFilter extends OncePerRequestFilter {
 
     private static final Logger logger = LoggerFactory.getLogger(JwtAuthFilter.class);
 
+    // What happened to a request's credentials; each outcome has its own timer (security.jwt.authentication)
+    enum Outcome { ANONYMOUS, AUTHENTICATED, ALREADY_AUTHENTICATED, INVALID_TOKEN, UNKNOWN_USER, ERROR }
+
     private final JwtUtil jwtUtil;
     private final AuthService authService;
+    // Registered once up front so the per-request cost is two nanoTime calls and a record
+    private final Map<Outcome, Timer> timers = new EnumMap<>(Outcome.class);
 
-    public JwtAuthFilter(JwtUtil jwtUtil, AuthService authService) {
+    public JwtAuthFilter(JwtUtil jwtUtil, AuthService authService, MeterRegistry meterRegistry) {
         this.jwtUtil = jwtUtil;
         this.authService = authService;
+        for (Outcome outcome : Outcome.values()) {
+            timers.put(outcome, Timer.builder("security.jwt.authentication")
+                    .description("Time spent authenticating a request's bearer token")
+                    .tag("outcome", outcome.name().toLowerCase(Locale.ROOT))
+                    .register(meterRegistry));
+        }
     }
 
     @Override
@@ -40,37 +58,51 @@ public class JwtAuthFilter extends OncePerRequestFilter {
         String requestURI = request.getRequestURI();
         if (requestURI.startsWith("/api/auth/") ||
                 requestURI.startsWith("/h2-console/") ||
-                requestURI.startsWith("/uploads/")) {
+                requestURI.startsWith("/uploads/") ||
+                requestURI.startsWith("/actuator/")) {
             filterChain.doFilter(request, response);
             return;
         }
 
+        long start = System.nanoTime();
+        Outcome outcome = authenticate(request, authHeader);
+        timers.get(outcome).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+
+        filterChain.doFilter(request, response);
+    }
+
+    private Outcome authenticate(HttpServletRequest request, String authHeader) {
         if (authHeader == null || !authHeader.startsWith("Bearer ")) {
-            filterChain.doFilter(request, response);
-            return;
+            return Outcome.ANONYMOUS;
         }
 
         try {
+            // extractUsername has already checked the signature and expiry, and the user is loaded by that
+            // subject, so the token is verified once per request rather than again by validateToken
             String jwt = authHeader.substring(7);
             String userEmail = jwtUtil.extractUsername(jwt);
-
-            if (userEmail != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                UserDetails userDetails = authService.loadUserByUsername(userEmail);
-
-                if (jwtUtil.validateToken(jwt, userDetails)) {
-                    UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                            userDetails,
-                            null,
-                            userDetails.getAuthorities()
-                    );
-                    authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                    SecurityContextHolder.getContext().setAuthentication(authToken);
-                }
+            if (userEmail == null) {
+                return Outcome.INVALID_TOKEN;
             }
+            if (SecurityContextHolder.getContext().getAuthentication() != null) {
+                return Outcome.ALREADY_AUTHENTICATED;
+            }
+
+            UserDetails userDetails = authService.loadUserByUsername(userEmail);
+            UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
+                    userDetails,
+                    null,
+                    userDetails.getAuthorities()
+            );
+            authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+            SecurityContextHolder.getContext().setAuthentication(authToken);
+            return Outcome.AUTHENTICATED;
+        } catch (UsernameNotFoundException e) {
+            logger.error("Cannot set user authentication: {}", e.getMessage());
+            return Outcome.UNKNOWN_USER;
         } catch (Exception e) {
             logger.error("Cannot set user authentication: {}", e.getMessage());
+            return Outcome.ERROR;
         }
-
-        filterChain.doFilter(request, response);
     }
-}
\ No newline at end of file
+}
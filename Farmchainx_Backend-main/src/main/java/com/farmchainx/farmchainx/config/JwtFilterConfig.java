@@ -1,6 +1,7 @@
 package com.farmchainx.farmchainx.config;
 
 import com.farmchainx.farmchainx.service.AuthService;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -8,7 +9,7 @@ import org.springframework.context.annotation.Configuration;
 public class JwtFilterConfig {
 
     @Bean
-    public JwtAuthFilter jwtAuthFilter(JwtUtil jwtUtil, AuthService authService) {
-        return new JwtAuthFilter(jwtUtil, authService);
+    public JwtAuthFilter jwtAuthFilter(JwtUtil jwtUtil, AuthService authService, MeterRegistry meterRegistry) {
+        return new JwtAuthFilter(jwtUtil, authService, meterRegistry);
     }
 }
\ No newline at end of file
@@ -1,5 +1,6 @@
 package com.farmchainx.farmchainx.config;
 
+import com.farmchainx.farmchainx.service.FlightEvents;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
@@ -37,49 +38,61 @@ public class JwtUtil {
                 .compact();
     }
 
+    // Verifies the signature and expiry and returns the subject, or null if the token is not valid
     public String extractUsername(String token) {
+        FlightEvents.TokenVerification event = new FlightEvents.TokenVerification();
+        event.begin();
+        String username = null;
+        String outcome = "valid";
         try {
-            return Jwts.parserBuilder()
-                    .setSigningKey(key)
-                    .build()
-                    .parseClaimsJws(token)
-                    .getBody()
-                    .getSubject();
+            username = parseClaims(token).getSubject();
+            return username;
         } catch (JwtException e) {
+            outcome = e.getClass().getSimpleName();
             logger.warn("Failed to extract username from token: {}", e.getMessage());
             return null;
+        } finally {
+            if (event.shouldCommit()) {
+                event.operation = "extractUsername";
+                event.subject = username;
+                event.outcome = outcome;
+                event.commit();
+            }
         }
     }
 
+    // Parses the token once and checks subject and expiry from the same claims, so a call records a
+    // single TokenVerification event
     public boolean validateToken(String token, UserDetails userDetails) {
+        FlightEvents.TokenVerification event = new FlightEvents.TokenVerification();
+        event.begin();
+        boolean valid = false;
         try {
-            final String username = extractUsername(token);
-            return (username != null && username.equals(userDetails.getUsername()) && !isTokenExpired(token));
+            Claims claims = parseClaims(token);
+            valid = userDetails.getUsername().equals(claims.getSubject()) && !isTokenExpired(claims);
+            return valid;
         } catch (JwtException e) {
             return false;
+        } finally {
+            if (event.shouldCommit()) {
+                event.operation = "validateToken";
+                event.subject = userDetails.getUsername();
+                event.outcome = valid ? "valid" : "rejected";
+                event.commit();
+            }
         }
     }
 
-    private boolean isTokenExpired(String token) {
-        try {
-            Date expiration = extractExpiration(token);
-            return expiration.before(new Date());
-        } catch (JwtException e) {
-            return true;
-        }
+    private static boolean isTokenExpired(Claims claims) {
+        Date expiration = claims.getExpiration();
+        return expiration == null || expiration.before(new Date());
     }
 
-    private Date extractExpiration(String token) {
-        try {
-            return Jwts.parserBuilder()
-                    .setSigningKey(key)
-                    .build()
-                    .parseClaimsJws(token)
-                    .getBody()
-                    .getExpiration();
-        } catch (JwtException e) {
-            logger.warn("Failed to extract expiration from token: {}", e.getMessage());
-            return new Date(0); // Return past date
-        }
+    private Claims parseClaims(String token) {
+        return Jwts.parserBuilder()
+                .setSigningKey(key)
+                .build()
+                .parseClaimsJws(token)
+                .getBody();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,68 @@
+package com.farmchainx.farmchainx.config;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.Marker;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Logback turbo filter keeping one in N DEBUG/TRACE events per logger category, configured in
+// logback-spring.xml from logging.sampling.rules, e.g. "org.hibernate.SQL=100,com.farmchainx=10".
+// A rule covers its logger and every child logger; the most specific rule wins. INFO and above are
+// never sampled. Turbo filters run before the event is built, so a dropped event costs a counter
+// increment instead of formatting, encoding and queueing.
+public class LogSamplingFilter extends TurboFilter {
+
+    private record Rule(String category, long keepOneIn, AtomicLong seen) {
+        boolean covers(String loggerName) {
+            return loggerName.startsWith(category)
+                    && (loggerName.length() == category.length() || loggerName.charAt(category.length()) == '.');
+        }
+    }
+
+    // Longest category first, so the first match is the most specific
+    private final List<Rule> rules = new ArrayList<>();
+
+    public void setRules(String spec) {
+        rules.clear();
+        if (spec == null || spec.isBlank()) {
+            return;
+        }
+        for (String entry : spec.split(",")) {
+            String[] parts = entry.trim().split("=");
+            if (parts.length != 2) {
+                addError("Ignoring sampling rule '" + entry.trim() + "'; expected category=N");
+                continue;
+            }
+            long keepOneIn = Long.parseLong(parts[1].trim());
+            if (keepOneIn < 1) {
+                addError("Ignoring sampling rule '" + entry.trim() + "'; N must be at least 1");
+                continue;
+            }
+            rules.add(new Rule(parts[0].trim(), keepOneIn, new AtomicLong()));
+        }
+        rules.sort(Comparator.comparingInt((Rule rule) -> rule.category().length()).reversed());
+    }
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        // isDebugEnabled() and friends arrive with no format; let them through so callers still build
+        // the message, and decide on the actual logging call. Events below the logger's level are
+        // dropped anyway and must not use up a sampling slot (isEnabledFor would recurse into here).
+        if (format == null || level.isGreaterOrEqual(Level.INFO) || !level.isGreaterOrEqual(logger.getEffectiveLevel())) {
+            return FilterReply.NEUTRAL;
+        }
+        String name = logger.getName();
+        for (Rule rule : rules) {
+            if (rule.covers(name)) {
+                return rule.seen().getAndIncrement() % rule.keepOneIn() == 0 ? FilterReply.NEUTRAL : FilterReply.DENY;
+            }
+        }
+        return FilterReply.NEUTRAL;
+    }
+}
@@ -0,0 +1,78 @@
+package com.farmchainx.farmchainx.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+// Sends connections for read-only transactions opened by @ReplicaRead methods to the replica while
+// ReplicaLagMonitor considers it fresh, and everything else (writes, reads outside a transaction, and
+// the implicit read-only transactions of Spring Data's CRUD methods, which a read-modify-write would
+// otherwise fill with stale rows) to the primary. A replica that refuses a connection is marked down
+// and the read falls back to the primary.
+// The read-only flag is only known once the transaction has started, so this must sit behind a
+// LazyConnectionDataSourceProxy, which defers fetching the connection until the first statement.
+// Counts routed reads as db.replica.reads tagged with the pool that served them.
+public class ReadWriteRoutingDataSource extends AbstractDataSource {
+
+    // Set by ReplicaReadAspect while a @ReplicaRead method runs
+    private static final ThreadLocal<Boolean> REPLICA_READS = new ThreadLocal<>();
+
+    private final DataSource primary;
+    private final DataSource replica;
+    private final ReplicaLagMonitor monitor;
+    private final Counter replicaReads;
+    private final Counter fallbackReads;
+
+    public ReadWriteRoutingDataSource(DataSource primary, DataSource replica, ReplicaLagMonitor monitor,
+                                      MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.replica = replica;
+        this.monitor = monitor;
+        this.replicaReads = Counter.builder("db.replica.reads")
+                .description("Read-only transactions by the pool that served them")
+                .tag("target", "replica")
+                .register(meterRegistry);
+        this.fallbackReads = Counter.builder("db.replica.reads")
+                .description("Read-only transactions by the pool that served them")
+                .tag("target", "primary")
+                .register(meterRegistry);
+    }
+
+    // Allows or forbids replica reads on this thread; returns the previous setting for restoring
+    static boolean allowReplicaReads(boolean allowed) {
+        boolean previous = Boolean.TRUE.equals(REPLICA_READS.get());
+        if (allowed) {
+            REPLICA_READS.set(Boolean.TRUE);
+        } else {
+            REPLICA_READS.remove();
+        }
+        return previous;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly() && Boolean.TRUE.equals(REPLICA_READS.get())) {
+            if (monitor.replicaUsable()) {
+                try {
+                    Connection connection = replica.getConnection();
+                    replicaReads.increment();
+                    return connection;
+                } catch (SQLException e) {
+                    monitor.markDown(e);
+                }
+            }
+            fallbackReads.increment();
+        }
+        return primary.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return primary.getConnection(username, password);
+    }
+}
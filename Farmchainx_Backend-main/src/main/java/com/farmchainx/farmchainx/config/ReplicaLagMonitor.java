@@ -0,0 +1,133 @@
+package com.farmchainx.farmchainx.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// Decides whether the read replica is fresh enough to serve reads. Every heartbeat interval the
+// current time is written to replica_heartbeat on the primary and read back from the replica; how
+// far the replicated value trails the clock is the replica's lag. The replica is usable while that
+// lag is within maxLag and was measured recently. A replica that fails a check or a connection
+// attempt is skipped for retryAfter.
+// Reports db.replica.lag (seconds, NaN while unknown) and db.replica.usable.
+public class ReplicaLagMonitor implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+
+    static final String TABLE = "replica_heartbeat";
+
+    private final DataSource primary;
+    private final DataSource replica;
+    private final long maxLagMillis;
+    private final long intervalMillis;
+    private final long retryAfterMillis;
+    private final Clock clock;
+    private ScheduledExecutorService scheduler;
+
+    // -1 until a heartbeat has been read from the replica
+    private volatile long lagMillis = -1;
+    private volatile long checkedAt;
+    private volatile long downUntil;
+
+    public ReplicaLagMonitor(DataSource primary, DataSource replica, Duration maxLag, Duration interval,
+                             Duration retryAfter, Clock clock, MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.replica = replica;
+        this.maxLagMillis = maxLag.toMillis();
+        this.intervalMillis = interval.toMillis();
+        this.retryAfterMillis = retryAfter.toMillis();
+        this.clock = clock;
+        Gauge.builder("db.replica.lag", this, monitor -> monitor.lagMillis < 0 ? Double.NaN : monitor.lagMillis / 1000.0)
+                .description("How far the replica trails the primary, from the last heartbeat read")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        Gauge.builder("db.replica.usable", this, monitor -> monitor.replicaUsable() ? 1 : 0)
+                .description("1 while read-only transactions are sent to the replica")
+                .register(meterRegistry);
+    }
+
+    public void start() throws SQLException {
+        try (Connection connection = primary.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE IF NOT EXISTS " + TABLE + " (id INT PRIMARY KEY, beat_at BIGINT NOT NULL)");
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "replica-lag-monitor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::refresh, 0, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    private void refresh() {
+        try {
+            beat();
+        } catch (SQLException e) {
+            logger.warn("Could not write the replica heartbeat: {}", e.getMessage());
+        }
+        check();
+    }
+
+    void beat() throws SQLException {
+        long now = clock.millis();
+        try (Connection connection = primary.getConnection();
+             PreparedStatement update = connection.prepareStatement("UPDATE " + TABLE + " SET beat_at = ? WHERE id = 1")) {
+            update.setLong(1, now);
+            if (update.executeUpdate() == 0) {
+                try (PreparedStatement insert = connection.prepareStatement(
+                        "INSERT INTO " + TABLE + " (id, beat_at) VALUES (1, ?)")) {
+                    insert.setLong(1, now);
+                    insert.executeUpdate();
+                }
+            }
+        }
+    }
+
+    void check() {
+        try (Connection connection = replica.getConnection();
+             PreparedStatement query = connection.prepareStatement("SELECT beat_at FROM " + TABLE + " WHERE id = 1");
+             ResultSet result = query.executeQuery()) {
+            long now = clock.millis();
+            lagMillis = result.next() ? Math.max(0, now - result.getLong(1)) : -1;
+            checkedAt = now;
+        } catch (SQLException e) {
+            markDown(e);
+        }
+    }
+
+    public boolean replicaUsable() {
+        long now = clock.millis();
+        long lag = lagMillis;
+        return lag >= 0 && lag <= maxLagMillis
+                && now - checkedAt <= 3 * intervalMillis
+                && now >= downUntil;
+    }
+
+    public void markDown(Exception cause) {
+        if (clock.millis() >= downUntil) {
+            logger.warn("Read replica unavailable, reading from the primary for {} ms: {}", retryAfterMillis,
+                    cause.getMessage());
+        }
+        lagMillis = -1;
+        downUntil = clock.millis() + retryAfterMillis;
+    }
+
+    @Override
+    public void close() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.farmchainx.farmchainx.config;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// Marks a read-only service method (or every method of a class) whose reads may be served by the
+// read replica, i.e. may be up to db.replica.max-lag stale. Nothing else goes to the replica,
+// including the implicit read-only transactions of Spring Data's CRUD methods. Only for methods
+// that don't write: they run in a read-only transaction (ReplicaReadAspect).
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ReplicaRead {
+}
@@ -0,0 +1,77 @@
+package com.farmchainx.farmchainx.config;
+
+import jakarta.persistence.EntityManager;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.DefaultTransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+// Runs @ReplicaRead methods in a read-only transaction that may use the replica. The session reads
+// the second-level cache but doesn't store what it loads (CacheMode.GET), so a lagging replica can't
+// leave stale entities in the "products" region. A method called inside a transaction that is
+// already running just joins it; that transaction has picked its connection already.
+@Aspect
+@Component
+@ConditionalOnProperty("db.replica.url")
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class ReplicaReadAspect {
+
+    private static final TransactionDefinition READ_ONLY = readOnly();
+
+    private final PlatformTransactionManager transactionManager;
+    private final EntityManager entityManager;
+
+    public ReplicaReadAspect(PlatformTransactionManager transactionManager, EntityManager entityManager) {
+        this.transactionManager = transactionManager;
+        this.entityManager = entityManager;
+    }
+
+    @Around("@annotation(com.farmchainx.farmchainx.config.ReplicaRead) || @within(com.farmchainx.farmchainx.config.ReplicaRead)")
+    public Object readFromReplica(ProceedingJoinPoint call) throws Throwable {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return call.proceed();
+        }
+        boolean previous = ReadWriteRoutingDataSource.allowReplicaReads(true);
+        try {
+            TransactionStatus status = transactionManager.getTransaction(READ_ONLY);
+            Object result;
+            try {
+                result = proceedWithoutCaching(call);
+            } catch (Throwable e) {
+                transactionManager.rollback(status);
+                throw e;
+            }
+            transactionManager.commit(status);
+            return result;
+        } finally {
+            ReadWriteRoutingDataSource.allowReplicaReads(previous);
+        }
+    }
+
+    private Object proceedWithoutCaching(ProceedingJoinPoint call) throws Throwable {
+        Session session = entityManager.unwrap(Session.class);
+        CacheMode previous = session.getCacheMode();
+        session.setCacheMode(CacheMode.GET);
+        try {
+            return call.proceed();
+        } finally {
+            session.setCacheMode(previous);
+        }
+    }
+
+    private static TransactionDefinition readOnly() {
+        DefaultTransactionDefinition definition = new DefaultTransactionDefinition();
+        definition.setReadOnly(true);
+        return definition;
+    }
+}
@@ -1,5 +1,6 @@
 package com.farmchainx.farmchainx.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -9,6 +10,7 @@ import org.springframework.security.config.annotation.web.configuration.EnableWe
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.util.matcher.RequestMatcher;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
@@ -20,9 +22,17 @@ import java.util.Arrays;
 public class SecurityConfig {
 
     private final JwtAuthFilter jwtAuthFilter;
+    private final ConcurrencyLimitFilter concurrencyLimitFilter;
+    private final int serverPort;
+    private final int managementPort;
 
-    public SecurityConfig(JwtAuthFilter jwtAuthFilter) {
+    public SecurityConfig(JwtAuthFilter jwtAuthFilter, ConcurrencyLimitFilter concurrencyLimitFilter,
+                          @Value("${server.port:8080}") int serverPort,
+                          @Value("${management.server.port:-1}") int managementPort) {
         this.jwtAuthFilter = jwtAuthFilter;
+        this.concurrencyLimitFilter = concurrencyLimitFilter;
+        this.serverPort = serverPort;
+        this.managementPort = managementPort;
     }
 
     @Bean
@@ -33,11 +43,16 @@ public class SecurityConfig {
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authorizeHttpRequests(auth -> auth
                         .requestMatchers("/api/auth/**", "/h2-console/**", "/uploads/**").permitAll()
-                        .requestMatchers("/api/admin/**").hasAuthority("ADMIN") // Changed from hasRole to hasAuthority
-                        .requestMatchers("/api/products/my-products").hasAuthority("FARMER") // Changed from hasRole to hasAuthority
+                        // Health and scrape endpoints, open on the management port only (this chain also
+                        // guards the management server); without a separate port they need a login
+                        .requestMatchers(managementPort()).permitAll()
+                        .requestMatchers("/api/admin/**").hasRole("ADMIN") // AuthService grants ROLE_-prefixed authorities
+                        .requestMatchers("/api/products/my-products").hasRole("FARMER") // AuthService grants ROLE_-prefixed authorities
                         .anyRequest().authenticated()
                 )
-                .addFilterBefore(jwtAuthFilter, UsernamePasswordAuthenticationFilter.class);
+                .addFilterBefore(jwtAuthFilter, UsernamePasswordAuthenticationFilter.class)
+                // Shed load before paying for token verification
+                .addFilterBefore(concurrencyLimitFilter, JwtAuthFilter.class);
 
         // For H2 console (if you're using it)
         http.headers(headers -> headers.frameOptions().disable());
@@ -45,12 +60,21 @@ public class SecurityConfig {
         return http.build();
     }
 
+    // Actuator requests that arrived on management.server.port; matches nothing when it is unset or shared
+    private RequestMatcher managementPort() {
+        boolean separate = managementPort > 0 && managementPort != serverPort;
+        return request -> separate && request.getLocalPort() == managementPort
+                && request.getRequestURI().startsWith("/actuator/");
+    }
+
     @Bean
     public CorsConfigurationSource corsConfigurationSource() {
         CorsConfiguration configuration = new CorsConfiguration();
         configuration.setAllowedOriginPatterns(Arrays.asList("http://localhost:3000", "http://localhost:5173"));
         configuration.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "DELETE", "OPTIONS"));
         configuration.setAllowedHeaders(Arrays.asList("*"));
+        configuration.setExposedHeaders(Arrays.asList("X-Total-Count", "X-Total-Pages", "X-Next-Cursor", "ETag",
+                "X-SQL-Statements", "X-SQL-Time-Ms"));
         configuration.setAllowCredentials(true);
 
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
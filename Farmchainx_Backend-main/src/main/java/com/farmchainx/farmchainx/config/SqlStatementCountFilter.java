@@ -0,0 +1,182 @@
+package com.farmchainx.farmchainx.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// Tracks the JDBC statements each request runs. Every request records how many statements it ran
+// and how long they took (http.server.requests.sql.*, tagged like http.server.requests), requests
+// over the configured count or time are logged, and a statement shape repeated within one request
+// is reported as a probable N+1. With sql.tracking.header-enabled (on in dev, off in prod) the
+// totals are also returned as X-SQL-Statements and X-SQL-Time-Ms. Headers can't follow the body, so
+// they are set when the handler first opens the body (or at the end if it never does) and count the
+// statements run up to then; nothing is buffered, so event streams and downloads pass straight through.
+// Ordered ahead of Spring Security so the statements run while authenticating are counted too.
+@Component
+@Order(0)
+public class SqlStatementCountFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(SqlStatementCountFilter.class);
+
+    static final String STATEMENTS_HEADER = "X-SQL-Statements";
+    static final String TIME_HEADER = "X-SQL-Time-Ms";
+
+    private final SqlStatementTracker tracker;
+    private final MeterRegistry meterRegistry;
+    private final boolean headerEnabled;
+    private final int warnStatements;
+    private final long warnNanos;
+    private final int repeatThreshold;
+
+    public SqlStatementCountFilter(SqlStatementTracker tracker,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${sql.tracking.header-enabled:false}") boolean headerEnabled,
+                                   @Value("${sql.tracking.warn-statements:25}") int warnStatements,
+                                   @Value("${sql.tracking.warn-time:250ms}") Duration warnTime,
+                                   @Value("${sql.tracking.repeat-threshold:10}") int repeatThreshold) {
+        this.tracker = tracker;
+        this.meterRegistry = meterRegistry;
+        this.headerEnabled = headerEnabled;
+        this.warnStatements = warnStatements;
+        this.warnNanos = warnTime.toNanos();
+        this.repeatThreshold = repeatThreshold;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+
+        SqlStatementTracker.Stats stats = tracker.begin();
+        SqlHeaderResponse withHeaders = headerEnabled ? new SqlHeaderResponse(response, stats) : null;
+        try {
+            filterChain.doFilter(request, withHeaders != null ? withHeaders : response);
+        } finally {
+            tracker.end();
+            record(request, response, stats);
+            if (withHeaders != null && !request.isAsyncStarted()) {
+                withHeaders.writeHeaders();
+            }
+        }
+    }
+
+    private void record(HttpServletRequest request, HttpServletResponse response, SqlStatementTracker.Stats stats) {
+        String method = request.getMethod();
+        String uri = uri(request, response);
+
+        DistributionSummary.builder("http.server.requests.sql.statements")
+                .description("JDBC statements run per request")
+                .baseUnit("statements")
+                .tags("method", method, "uri", uri)
+                .register(meterRegistry)
+                .record(stats.statements());
+        Timer.builder("http.server.requests.sql.time")
+                .description("Time per request spent executing JDBC statements")
+                .tags("method", method, "uri", uri)
+                .register(meterRegistry)
+                .record(stats.nanos(), TimeUnit.NANOSECONDS);
+
+        if (stats.statements() >= warnStatements || stats.nanos() >= warnNanos) {
+            logger.warn("{} {} ran {} SQL statements in {} ms", method, request.getRequestURI(),
+                    stats.statements(), TimeUnit.NANOSECONDS.toMillis(stats.nanos()));
+        }
+
+        Map.Entry<String, Integer> repeated = stats.mostRepeated();
+        if (repeated != null && repeated.getValue() >= repeatThreshold) {
+            Counter.builder("http.server.requests.sql.repeated")
+                    .description("Requests that ran one statement shape repeatedly (probable N+1)")
+                    .tags("method", method, "uri", uri)
+                    .register(meterRegistry)
+                    .increment();
+            logger.warn("Probable N+1 in {} {}: {} of {} statements were: {}", method, request.getRequestURI(),
+                    repeated.getValue(), stats.statements(), repeated.getKey());
+        }
+    }
+
+    // Same uri tag as http.server.requests: the matched route pattern, never the raw path
+    private static String uri(HttpServletRequest request, HttpServletResponse response) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        if (pattern != null) {
+            return pattern.toString();
+        }
+        return response.getStatus() == HttpServletResponse.SC_NOT_FOUND ? "NOT_FOUND" : "UNKNOWN";
+    }
+
+    // Adds the totals so far just before anything can commit the response
+    private static final class SqlHeaderResponse extends HttpServletResponseWrapper {
+
+        private final SqlStatementTracker.Stats stats;
+        private boolean written;
+
+        private SqlHeaderResponse(HttpServletResponse response, SqlStatementTracker.Stats stats) {
+            super(response);
+            this.stats = stats;
+        }
+
+        private void writeHeaders() {
+            if (written || isCommitted()) {
+                return;
+            }
+            written = true;
+            setHeader(STATEMENTS_HEADER, Integer.toString(stats.statements()));
+            setHeader(TIME_HEADER, String.format(Locale.ROOT, "%.3f", stats.nanos() / 1_000_000.0));
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            writeHeaders();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            writeHeaders();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            writeHeaders();
+            super.flushBuffer();
+        }
+
+        @Override
+        public void sendError(int sc, String msg) throws IOException {
+            writeHeaders();
+            super.sendError(sc, msg);
+        }
+
+        @Override
+        public void sendError(int sc) throws IOException {
+            writeHeaders();
+            super.sendError(sc);
+        }
+
+        @Override
+        public void sendRedirect(String location) throws IOException {
+            writeHeaders();
+            super.sendRedirect(location);
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.farmchainx.farmchainx.config;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+// Counts and times the JDBC statements run on the current thread while a request is being tracked
+// (see SqlStatementCountFilter). Statements outside a tracked request cost one ThreadLocal read.
+// A batch counts as one statement, since it is one round trip.
+@Component
+public class SqlStatementTracker implements QueryExecutionListener {
+
+    // Bounds the per-request shape map when a request runs many distinct statements
+    private static final int MAX_SHAPES = 256;
+    // Hibernate expands IN-list parameters, so "in (?,?)" and "in (?,?,?)" are the same query
+    private static final Pattern IN_LIST = Pattern.compile("\\(\\?(?:,\\s*\\?)+\\)");
+
+    public static final class Stats {
+        private int statements;
+        private long nanos;
+        private long startedAt;
+        private final Map<String, Integer> shapes = new HashMap<>();
+
+        public int statements() {
+            return statements;
+        }
+
+        public long nanos() {
+            return nanos;
+        }
+
+        // The statement shape run most often in this request, or null if there were none
+        public Map.Entry<String, Integer> mostRepeated() {
+            Map.Entry<String, Integer> top = null;
+            for (Map.Entry<String, Integer> entry : shapes.entrySet()) {
+                if (top == null || entry.getValue() > top.getValue()) {
+                    top = entry;
+                }
+            }
+            return top;
+        }
+    }
+
+    private final ThreadLocal<Stats> current = new ThreadLocal<>();
+
+    public Stats begin() {
+        Stats stats = new Stats();
+        current.set(stats);
+        return stats;
+    }
+
+    public void end() {
+        current.remove();
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        Stats stats = current.get();
+        if (stats != null) {
+            stats.startedAt = System.nanoTime();
+        }
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        Stats stats = current.get();
+        if (stats == null) {
+            return;
+        }
+        stats.statements++;
+        stats.nanos += System.nanoTime() - stats.startedAt;
+        if (queryInfoList.size() == 1) {
+            String shape = shape(queryInfoList.get(0).getQuery());
+            if (stats.shapes.size() < MAX_SHAPES || stats.shapes.containsKey(shape)) {
+                stats.shapes.merge(shape, 1, Integer::sum);
+            }
+        }
+    }
+
+    static String shape(String sql) {
+        String trimmed = sql.strip();
+        return trimmed.contains("?,") ? IN_LIST.matcher(trimmed).replaceAll("(?...)") : trimmed;
+    }
+}
@@ -0,0 +1,422 @@
+package com.farmchainx.farmchainx.config;
+
+import com.farmchainx.farmchainx.service.CatalogSnapshot;
+import jakarta.persistence.EntityManagerFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.*;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+// Bulk synthetic dataset for scale testing, loaded at startup with --spring.profiles.active=seed
+// (volumes in application-seed.properties). Rows go straight to JDBC in parallel batches with
+// explicit ids, bypassing JPA. Every row is derived from (seed, table, row number) alone, so the
+// same seed and end date produce the same data whatever the thread count or batch size.
+@Component
+@Profile("seed")
+@Order(Ordered.LOWEST_PRECEDENCE)
+public class SyntheticDataGenerator implements CommandLineRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(SyntheticDataGenerator.class);
+
+    // Most listings are a handful of staple crops; Zipf weights give the long tail
+    private static final String[] CROPS = {"Rice", "Wheat", "Tomato", "Potato", "Onion", "Maize", "Banana", "Mango",
+            "Chilli", "Cotton", "Sugarcane", "Soybean", "Groundnut", "Turmeric", "Ginger", "Cabbage", "Cauliflower",
+            "Brinjal", "Okra", "Millet"};
+    private static final String[] SOILS = {"Loamy", "Clay", "Sandy", "Silty", "Black", "Red", "Alluvial"};
+    private static final String[] PESTICIDES = {"None", "Neem oil", "Organic compost tea", "Copper fungicide",
+            "Pyrethrin"};
+    private static final String[] COMMENTS = {"Fresh and well packed", "Good value", "Arrived on time",
+            "Could be fresher", "Excellent quality", "Smaller than expected", "Will buy again"};
+    private static final String[] FIRST_NAMES = {"Asha", "Ravi", "Meena", "Arjun", "Lakshmi", "Vikram", "Priya",
+            "Suresh", "Anita", "Karthik", "Fatima", "Joseph", "Deepa", "Manoj", "Kavya", "Imran"};
+    private static final String[] LAST_NAMES = {"Kumar", "Sharma", "Reddy", "Patel", "Singh", "Nair", "Das",
+            "Iyer", "Khan", "Gowda", "Rao", "Verma"};
+
+    private enum Table { USERS, PRODUCTS, RATINGS, PURCHASES, ACTIVITIES }
+
+    @FunctionalInterface
+    private interface RowBinder {
+        void bind(PreparedStatement statement, long row) throws SQLException;
+    }
+
+    private final DataSource dataSource;
+    private final PasswordEncoder passwordEncoder;
+    private final CatalogSnapshot catalogSnapshot;
+    private final EntityManagerFactory entityManagerFactory;
+
+    @Value("${seed.random-seed:42}")
+    private long seed;
+
+    @Value("${seed.users:100000}")
+    private int users;
+
+    @Value("${seed.products:50000}")
+    private int products;
+
+    @Value("${seed.ratings:500000}")
+    private int ratings;
+
+    @Value("${seed.purchases:300000}")
+    private int purchases;
+
+    @Value("${seed.activities:50000}")
+    private int activities;
+
+    // createdAt values are spread over this many days before the end date (default: today)
+    @Value("${seed.days:365}")
+    private int days;
+
+    @Value("${seed.end-date:}")
+    private String endDate;
+
+    @Value("${seed.batch-size:1000}")
+    private int batchSize;
+
+    // 0 means one per core; always kept below the connection pool size
+    @Value("${seed.threads:0}")
+    private int threads;
+
+    @Value("${spring.datasource.hikari.maximum-pool-size:10}")
+    private int poolSize;
+
+    @Value("${seed.password:seed-password}")
+    private String password;
+
+    private LocalDateTime end;
+    private long userBase;
+    private long productBase;
+    private int[] farmers;
+    private int[] buyers;
+    private Zipf farmerPicker;
+    private Zipf productPicker;
+    private final Zipf cropPicker = new Zipf(CROPS.length, 1.2);
+
+    public SyntheticDataGenerator(DataSource dataSource, PasswordEncoder passwordEncoder,
+                                  CatalogSnapshot catalogSnapshot, EntityManagerFactory entityManagerFactory) {
+        this.dataSource = dataSource;
+        this.passwordEncoder = passwordEncoder;
+        this.catalogSnapshot = catalogSnapshot;
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    @Override
+    public void run(String... args) throws Exception {
+        long started = System.nanoTime();
+        end = (endDate.isBlank() ? LocalDate.now() : LocalDate.parse(endDate)).atStartOfDay();
+        int workers = Math.max(1, Math.min(threads > 0 ? threads : Runtime.getRuntime().availableProcessors(), poolSize - 1));
+
+        userBase = maxId("users");
+        productBase = maxId("products");
+        long ratingBase = maxId("ratings");
+        long purchaseBase = maxId("purchases");
+        long activityBase = maxId("activities");
+
+        assignRoles();
+        farmerPicker = new Zipf(farmers.length, 1.0);
+        productPicker = new Zipf(products, 1.1);
+        // Sums and counts of stars per product, to fill in average_rating once ratings are written
+        AtomicIntegerArray starSums = new AtomicIntegerArray(products);
+        AtomicIntegerArray starCounts = new AtomicIntegerArray(products);
+        String passwordHash = passwordEncoder.encode(password); // one BCrypt hash shared by every seeded user
+
+        ExecutorService pool = Executors.newFixedThreadPool(workers);
+        try {
+            insert(pool, "users", "INSERT INTO users (id, name, email, password, role, created_at) VALUES (?, ?, ?, ?, ?, ?)",
+                    users, (statement, row) -> {
+                        SplittableRandom random = random(Table.USERS, row);
+                        statement.setLong(1, userBase + row + 1);
+                        statement.setString(2, name(random));
+                        statement.setString(3, "user" + (userBase + row + 1) + "@seed.farmchainx.com");
+                        statement.setString(4, passwordHash);
+                        statement.setString(5, role((int) row));
+                        statement.setTimestamp(6, Timestamp.valueOf(userCreatedAt((int) row)));
+                    });
+
+            insert(pool, "products", "INSERT INTO products (id, name, crop_type, soil_type, pesticides, harvest_date, "
+                    + "use_before_date, location, additional_info, price, quantity, average_rating, image_url, "
+                    + "created_at, farmer_id) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)",
+                    products, (statement, row) -> {
+                        SplittableRandom random = random(Table.PRODUCTS, row);
+                        String crop = CROPS[cropPicker.sample(random)];
+                        LocalDateTime createdAt = productCreatedAt((int) row);
+                        LocalDate harvest = createdAt.toLocalDate().minusDays(random.nextInt(30));
+                        statement.setLong(1, productBase + row + 1);
+                        statement.setString(2, crop + " lot " + (row + 1));
+                        statement.setString(3, crop);
+                        statement.setString(4, SOILS[random.nextInt(SOILS.length)]);
+                        statement.setString(5, PESTICIDES[random.nextInt(PESTICIDES.length)]);
+                        statement.setDate(6, Date.valueOf(harvest));
+                        statement.setDate(7, Date.valueOf(harvest.plusDays(7 + random.nextInt(180))));
+                        statement.setString(8, "Village " + random.nextInt(2_000) + ", District " + random.nextInt(120));
+                        statement.setString(9, "Graded and packed at the farm");
+                        statement.setDouble(10, price((int) row));
+                        statement.setInt(11, 1 + random.nextInt(2_000));
+                        statement.setDouble(12, 0.0);
+                        statement.setString(13, null);
+                        statement.setTimestamp(14, Timestamp.valueOf(createdAt));
+                        statement.setLong(15, userBase + farmers[farmerPicker.sample(random)] + 1);
+                    });
+
+            insert(pool, "ratings", "INSERT INTO ratings (id, stars, comment, created_at, product_id, user_id) "
+                    + "VALUES (?, ?, ?, ?, ?, ?)", ratings, (statement, row) -> {
+                        SplittableRandom random = random(Table.RATINGS, row);
+                        int product = productPicker.sample(random);
+                        // Stars cluster around a per-product quality so averages differ between listings
+                        int stars = (int) Math.max(1, Math.min(5, Math.round(quality(product) + random.nextGaussian() * 0.9)));
+                        starSums.addAndGet(product, stars);
+                        starCounts.incrementAndGet(product);
+                        statement.setLong(1, ratingBase + row + 1);
+                        statement.setInt(2, stars);
+                        statement.setString(3, COMMENTS[random.nextInt(COMMENTS.length)]);
+                        statement.setTimestamp(4, Timestamp.valueOf(after(productCreatedAt(product), random)));
+                        statement.setLong(5, productBase + product + 1);
+                        statement.setLong(6, userBase + buyers[random.nextInt(buyers.length)] + 1);
+                    });
+
+            insert(pool, "purchases", "INSERT INTO purchases (id, quantity, total_amount, created_at, product_id, user_id) "
+                    + "VALUES (?, ?, ?, ?, ?, ?)", purchases, (statement, row) -> {
+                        SplittableRandom random = random(Table.PURCHASES, row);
+                        int product = productPicker.sample(random);
+                        // Mostly small baskets with the occasional bulk order
+                        int quantity = 1 + (int) Math.min(199, -Math.log(1 - random.nextDouble()) * 4);
+                        statement.setLong(1, purchaseBase + row + 1);
+                        statement.setInt(2, quantity);
+                        statement.setDouble(3, Math.round(quantity * price(product) * 100) / 100.0);
+                        statement.setTimestamp(4, Timestamp.valueOf(after(productCreatedAt(product), random)));
+                        statement.setLong(5, productBase + product + 1);
+                        statement.setLong(6, userBase + buyers[random.nextInt(buyers.length)] + 1);
+                    });
+
+            insert(pool, "activities", "INSERT INTO activities (id, type, user_name, role, action, product, amount, "
+                    + "rating, status, created_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", activities, (statement, row) -> {
+                        SplittableRandom random = random(Table.ACTIVITIES, row);
+                        int user = random.nextInt(users);
+                        int product = productPicker.sample(random);
+                        String type = switch (random.nextInt(10)) {
+                            case 0, 1 -> "registration";
+                            case 2, 3, 4, 5 -> "purchase";
+                            case 6, 7 -> "rating";
+                            default -> "product";
+                        };
+                        statement.setLong(1, activityBase + row + 1);
+                        statement.setString(2, type);
+                        statement.setString(3, name(random(Table.USERS, user)));
+                        statement.setString(4, role(user));
+                        statement.setString(5, switch (type) {
+                            case "registration" -> "Registered a new account";
+                            case "purchase" -> "Purchased a product";
+                            case "rating" -> "Rated a product";
+                            default -> "Listed a product";
+                        });
+                        statement.setString(6, type.equals("registration") ? null : CROPS[cropPicker.sample(random)] + " lot " + (product + 1));
+                        statement.setString(7, type.equals("purchase") ? String.format("%.2f", price(product) * (1 + random.nextInt(10))) : null);
+                        statement.setString(8, type.equals("rating") ? String.valueOf(1 + random.nextInt(5)) : null);
+                        statement.setString(9, "completed");
+                        statement.setTimestamp(10, Timestamp.valueOf(after(userCreatedAt(user), random)));
+                    });
+
+            List<Integer> rated = new ArrayList<>();
+            for (int product = 0; product < products; product++) {
+                if (starCounts.get(product) > 0) {
+                    rated.add(product);
+                }
+            }
+            insert(pool, "products (average_rating)", "UPDATE products SET average_rating = ? WHERE id = ?",
+                    rated.size(), (statement, row) -> {
+                        int product = rated.get((int) row);
+                        double average = (double) starSums.get(product) / starCounts.get(product);
+                        statement.setDouble(1, Math.round(average * 10.0) / 10.0);
+                        statement.setLong(2, productBase + product + 1);
+                    });
+        } finally {
+            pool.shutdown();
+        }
+
+        restartIdentities();
+        // Rows were written behind Hibernate's back: drop anything cached and rebuild the catalog on next read
+        entityManagerFactory.getCache().evictAll();
+        catalogSnapshot.invalidate();
+
+        long total = (long) users + products + ratings + purchases + activities;
+        double seconds = (System.nanoTime() - started) / 1e9;
+        logger.info("Seeded {} rows in {} s ({} rows/s) with {} threads, seed {}", total, String.format("%.1f", seconds),
+                Math.round(total / seconds), workers, seed);
+    }
+
+    // Splits the rows into chunks, one transaction each, written by the pool in parallel
+    private void insert(ExecutorService pool, String table, String sql, long rows, RowBinder binder) throws Exception {
+        long started = System.nanoTime();
+        long chunk = (long) batchSize * 10;
+        List<Future<?>> chunks = new ArrayList<>();
+        for (long from = 0; from < rows; from += chunk) {
+            long first = from;
+            long last = Math.min(rows, from + chunk);
+            chunks.add(pool.submit(() -> {
+                writeChunk(sql, first, last, binder);
+                return null;
+            }));
+        }
+        try {
+            for (Future<?> future : chunks) {
+                future.get();
+            }
+        } catch (ExecutionException e) {
+            chunks.forEach(future -> future.cancel(true));
+            throw e.getCause() instanceof Exception cause ? cause : e;
+        }
+        logger.info("Seeded {} {} rows in {} ms", rows, table, (System.nanoTime() - started) / 1_000_000);
+    }
+
+    private void writeChunk(String sql, long first, long last, RowBinder binder) throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                for (long row = first; row < last; row++) {
+                    binder.bind(statement, row);
+                    statement.addBatch();
+                    if ((row - first + 1) % batchSize == 0) {
+                        statement.executeBatch();
+                    }
+                }
+                statement.executeBatch();
+                connection.commit();
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(true);
+            }
+        }
+    }
+
+    // Roles are fixed per row number: ~70% customers, 20% farmers, 9% retailers, 1% admins
+    private void assignRoles() {
+        int[] farmerRows = new int[users];
+        int[] buyerRows = new int[users];
+        int farmerCount = 0;
+        int buyerCount = 0;
+        for (int row = 0; row < users; row++) {
+            switch (role(row)) {
+                case "FARMER" -> farmerRows[farmerCount++] = row;
+                case "CUSTOMER", "RETAILER" -> buyerRows[buyerCount++] = row;
+                default -> {
+                }
+            }
+        }
+        if (farmerCount == 0 || buyerCount == 0) {
+            throw new IllegalStateException("seed.users is too small to include both farmers and buyers");
+        }
+        farmers = Arrays.copyOf(farmerRows, farmerCount);
+        buyers = Arrays.copyOf(buyerRows, buyerCount);
+    }
+
+    private String role(int userRow) {
+        int bucket = random(Table.USERS, userRow).split().nextInt(100);
+        return bucket < 70 ? "CUSTOMER" : bucket < 90 ? "FARMER" : bucket < 99 ? "RETAILER" : "ADMIN";
+    }
+
+    private String name(SplittableRandom random) {
+        return FIRST_NAMES[random.nextInt(FIRST_NAMES.length)] + " " + LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+    }
+
+    // Sign-ups accelerate towards the end date (density grows linearly over the period)
+    private LocalDateTime userCreatedAt(int userRow) {
+        double u = random(Table.USERS, userRow).split().split().nextDouble();
+        return end.minusSeconds((long) ((1 - Math.sqrt(u)) * days * 86_400L));
+    }
+
+    private LocalDateTime productCreatedAt(int productRow) {
+        double u = random(Table.PRODUCTS, productRow).split().nextDouble();
+        return end.minusSeconds((long) ((1 - Math.sqrt(u)) * days * 86_400L));
+    }
+
+    private double price(int productRow) {
+        // Log-normal around 40 per unit: most produce is cheap, spices and fruit sit in the tail
+        double gaussian = random(Table.PRODUCTS, productRow).split().split().nextGaussian();
+        return Math.round(Math.exp(Math.log(40) + gaussian * 0.7) * 100) / 100.0;
+    }
+
+    private double quality(int productRow) {
+        return 2.5 + random(Table.PRODUCTS, productRow).split().split().split().nextDouble() * 2.5;
+    }
+
+    private LocalDateTime after(LocalDateTime start, SplittableRandom random) {
+        long span = Math.max(1, Duration.between(start, end).toSeconds());
+        return start.plusSeconds(random.nextLong(span));
+    }
+
+    // Independent stream per (table, row); split() derives further streams for attributes that other
+    // tables look up, so those never depend on how many draws the row itself made
+    private SplittableRandom random(Table table, long row) {
+        return new SplittableRandom(seed * 0x9E3779B97F4A7C15L + table.ordinal() * 0xBF58476D1CE4E5B9L + row);
+    }
+
+    private long maxId(String table) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet result = statement.executeQuery("SELECT COALESCE(MAX(id), 0) FROM " + table)) {
+            result.next();
+            return result.getLong(1);
+        }
+    }
+
+    // Ids were assigned explicitly, so move each identity column past them
+    private void restartIdentities() throws SQLException {
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            String database = connection.getMetaData().getDatabaseProductName();
+            for (String table : List.of("users", "products", "ratings", "purchases", "activities")) {
+                long next = maxId(table) + 1;
+                if (database.equals("H2")) {
+                    statement.execute("ALTER TABLE " + table + " ALTER COLUMN id RESTART WITH " + next);
+                } else if (database.equals("MySQL")) {
+                    statement.execute("ALTER TABLE " + table + " AUTO_INCREMENT = " + next);
+                } else {
+                    logger.warn("Cannot restart the id sequence of {} on {}; new rows may collide", table, database);
+                }
+            }
+        }
+    }
+
+    // Zipf(s) over 0..n-1 by binary search in a precomputed CDF: rank 0 is the most popular
+    private static final class Zipf {
+
+        private final double[] cdf;
+
+        Zipf(int n, double exponent) {
+            cdf = new double[Math.max(n, 1)];
+            double sum = 0;
+            for (int rank = 0; rank < cdf.length; rank++) {
+                sum += 1 / Math.pow(rank + 1, exponent);
+                cdf[rank] = sum;
+            }
+            for (int rank = 0; rank < cdf.length; rank++) {
+                cdf[rank] /= sum;
+            }
+        }
+
+        int sample(SplittableRandom random) {
+            int index = Arrays.binarySearch(cdf, random.nextDouble());
+            return Math.min(index >= 0 ? index : -index - 1, cdf.length - 1);
+        }
+    }
+}
@@ -3,9 +3,17 @@ package com.farmchainx.farmchainx.controller;
 
 import com.farmchainx.farmchainx.model.*;
 import com.farmchainx.farmchainx.service.AdminService;
+import com.farmchainx.farmchainx.service.FlightRecorderService;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
 import java.util.List;
 import java.util.Map;
 
@@ -15,9 +23,11 @@ import java.util.Map;
 public class AdminController {
 
     private final AdminService adminService;
+    private final FlightRecorderService flightRecorderService;
 
-    public AdminController(AdminService adminService) {
+    public AdminController(AdminService adminService, FlightRecorderService flightRecorderService) {
         this.adminService = adminService;
+        this.flightRecorderService = flightRecorderService;
     }
 
     // User Statistics
@@ -77,9 +87,9 @@ public class AdminController {
 
     // All Ratings with Comments
     @GetMapping("/ratings")
-    public ResponseEntity<List<Rating>> getAllRatings() {
+    public ResponseEntity<List<RatingView>> getAllRatings(@RequestParam(defaultValue = "200") int limit) {
         try {
-            List<Rating> ratings = adminService.getAllRatings();
+            List<RatingView> ratings = adminService.getAllRatings(Math.min(Math.max(limit, 1), 1000));
             return ResponseEntity.ok(ratings);
         } catch (Exception e) {
             return ResponseEntity.status(500).build();
@@ -97,6 +107,16 @@ public class AdminController {
         }
     }
 
+    // Second-level cache hit ratios per region
+    @GetMapping("/cache/stats")
+    public ResponseEntity<Map<String, Object>> getCacheStatistics() {
+        try {
+            return ResponseEntity.ok(adminService.getCacheStatistics());
+        } catch (Exception e) {
+            return ResponseEntity.status(500).body(Map.of("error", "Failed to fetch cache statistics"));
+        }
+    }
+
     // System Overview
     @GetMapping("/overview")
     public ResponseEntity<Map<String, Object>> getSystemOverview() {
@@ -107,4 +127,56 @@ public class AdminController {
             return ResponseEntity.status(500).body(Map.of("error", "Failed to fetch system overview"));
         }
     }
-}
\ No newline at end of file
+
+    // Start a Flight Recorder recording, e.g. ?settings=profile&durationSeconds=120&thresholdMs=0
+    @PostMapping("/recordings")
+    public ResponseEntity<?> startRecording(@RequestParam(defaultValue = "default") String settings,
+                                            @RequestParam(defaultValue = "10") long maxAgeMinutes,
+                                            @RequestParam(required = false) Long durationSeconds,
+                                            @RequestParam(defaultValue = "1") long thresholdMs) {
+        try {
+            return ResponseEntity.ok(flightRecorderService.start(settings, Duration.ofMinutes(maxAgeMinutes),
+                    durationSeconds != null ? Duration.ofSeconds(durationSeconds) : null, Duration.ofMillis(thresholdMs)));
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(500).body(Map.of("error", "Failed to start recording"));
+        }
+    }
+
+    @GetMapping("/recordings")
+    public ResponseEntity<List<FlightRecorderService.RecordingInfo>> getRecordings() {
+        return ResponseEntity.ok(flightRecorderService.list());
+    }
+
+    // Download what a recording holds so far as a .jfr file (open it in JDK Mission Control)
+    @GetMapping("/recordings/{id}")
+    public ResponseEntity<?> dumpRecording(@PathVariable long id) {
+        try {
+            Path file = flightRecorderService.dump(id);
+            long size = Files.size(file);
+            // The temporary dump is removed once the response stream is closed
+            InputStreamResource body = new InputStreamResource(Files.newInputStream(file, StandardOpenOption.DELETE_ON_CLOSE));
+            return ResponseEntity.ok()
+                    .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                    .contentLength(size)
+                    .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"recording-" + id + ".jfr\"")
+                    .body(body);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(404).body(Map.of("error", e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(500).body(Map.of("error", "Failed to dump recording"));
+        }
+    }
+
+    // Stop (if still running) and discard a recording
+    @DeleteMapping("/recordings/{id}")
+    public ResponseEntity<?> deleteRecording(@PathVariable long id) {
+        try {
+            flightRecorderService.delete(id);
+            return ResponseEntity.ok().build();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(404).body(Map.of("error", e.getMessage()));
+        }
+    }
+}
@@ -0,0 +1,98 @@
+// AuctionController.java
+package com.farmchainx.farmchainx.controller;
+
+import com.farmchainx.farmchainx.model.Auction;
+import com.farmchainx.farmchainx.model.AuthenticatedUser;
+import com.farmchainx.farmchainx.model.User;
+import com.farmchainx.farmchainx.repository.UserRepository;
+import com.farmchainx.farmchainx.service.AuctionService;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/auctions")
+@CrossOrigin(origins = {"http://localhost:3000", "http://localhost:5173"})
+public class AuctionController {
+
+    private final AuctionService auctionService;
+    private final UserRepository userRepository;
+
+    public AuctionController(AuctionService auctionService, UserRepository userRepository) {
+        this.auctionService = auctionService;
+        this.userRepository = userRepository;
+    }
+
+    // List a product lot as an auction closing at the given time
+    @PostMapping
+    public ResponseEntity<?> createAuction(@RequestBody Map<String, Object> request, Authentication authentication) {
+        try {
+            Long productId = ((Number) request.get("productId")).longValue();
+            Double startingPrice = request.get("startingPrice") != null
+                    ? ((Number) request.get("startingPrice")).doubleValue() : null;
+            LocalDateTime closesAt = LocalDateTime.parse((String) request.get("closesAt"));
+
+            Auction auction = auctionService.createAuction(currentUser(authentication), productId, startingPrice, closesAt);
+
+            Map<String, Object> response = new HashMap<>();
+            response.put("id", auction.getId());
+            response.put("productId", productId);
+            response.put("startingPrice", auction.getStartingPrice());
+            response.put("closesAt", auction.getClosesAt());
+            response.put("quantity", auction.getQuantity());
+            response.put("status", auction.getStatus());
+            return ResponseEntity.ok(response);
+        } catch (ResponseStatusException e) {
+            return ResponseEntity.status(e.getStatusCode()).body(Map.of("error", "Failed to create auction: " + e.getReason()));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(Map.of("error", "Failed to create auction: " + e.getMessage()));
+        }
+    }
+
+    @GetMapping
+    public ResponseEntity<List<Map<String, Object>>> getOpenAuctions() {
+        return ResponseEntity.ok(auctionService.getOpenAuctions());
+    }
+
+    @GetMapping("/{auctionId}")
+    public ResponseEntity<?> getAuction(@PathVariable Long auctionId) {
+        try {
+            return ResponseEntity.ok(auctionService.getLiveState(auctionId));
+        } catch (Exception e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    @PostMapping("/{auctionId}/bids")
+    public ResponseEntity<?> placeBid(@PathVariable Long auctionId,
+                                      @RequestBody Map<String, Object> request,
+                                      Authentication authentication) {
+        try {
+            Double amount = request.get("amount") != null ? ((Number) request.get("amount")).doubleValue() : null;
+            // The principal already carries the bidder's id and role; no user lookup per bid
+            AuthenticatedUser bidder = (AuthenticatedUser) authentication.getPrincipal();
+            return ResponseEntity.ok(auctionService.placeBid(bidder.getId(), bidder.getRole(), auctionId, amount));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(Map.of("error", "Failed to place bid: " + e.getMessage()));
+        }
+    }
+
+    // Live highest-bid updates as server-sent events
+    @GetMapping(value = "/{auctionId}/watch", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter watch(@PathVariable Long auctionId) {
+        return auctionService.watch(auctionId);
+    }
+
+    private User currentUser(Authentication authentication) {
+        return userRepository.findByEmail(authentication.getName())
+                .orElseThrow(() -> new RuntimeException("User not found"));
+    }
+}
@@ -4,6 +4,8 @@ import com.farmchainx.farmchainx.config.JwtUtil;
 import com.farmchainx.farmchainx.model.User;
 import com.farmchainx.farmchainx.repository.UserRepository;
 import com.farmchainx.farmchainx.service.AuthService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.*;
@@ -16,6 +18,8 @@ import java.util.Map;
 @CrossOrigin(origins = {"http://localhost:3000", "http://localhost:5173"})
 public class AuthController {
 
+    private static final Logger logger = LoggerFactory.getLogger(AuthController.class);
+
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
     private final AuthService authService;
@@ -32,34 +36,31 @@ public class AuthController {
     @PostMapping("/register")
     public ResponseEntity<?> register(@RequestBody Map<String, String> request) {
         try {
-            System.out.println("🔵 Registration attempt received");
-            System.out.println("🔵 Request data: " + request);
-
             String name = request.get("name");
             String email = request.get("email");
             String password = request.get("password");
             String roleStr = request.get("role");
+            // Never the whole request body: it carries the password
+            logger.debug("Registration attempt for {} as {}", email, roleStr);
 
             // Basic validation
             if (name == null || email == null || password == null || roleStr == null) {
-                System.out.println("❌ Missing fields");
+                logger.debug("Registration rejected: missing fields");
                 return ResponseEntity.badRequest().body(Map.of("error", "All fields are required"));
             }
 
             // Check if email exists
             if (userRepository.findByEmail(email).isPresent()) {
-                System.out.println("❌ Email already exists: " + email);
+                logger.debug("Registration rejected: email already exists: {}", email);
                 return ResponseEntity.badRequest().body(Map.of("error", "Email already exists"));
             }
 
-            System.out.println("🔵 Creating user with role: " + roleStr);
-
             // Create user
             User.Role role;
             try {
                 role = User.Role.valueOf(roleStr.toUpperCase());
             } catch (IllegalArgumentException e) {
-                System.out.println("❌ Invalid role: " + roleStr);
+                logger.debug("Registration rejected: invalid role: {}", roleStr);
                 return ResponseEntity.badRequest().body(Map.of("error", "Invalid role"));
             }
 
@@ -69,9 +70,8 @@ public class AuthController {
             user.setPassword(passwordEncoder.encode(password));
             user.setRole(role);
 
-            System.out.println("🔵 Saving user to database...");
             User savedUser = userRepository.save(user);
-            System.out.println("✅ User saved successfully with ID: " + savedUser.getId());
+            logger.info("Registered user {} as {}", savedUser.getId(), role);
 
             // Return response
             Map<String, Object> response = new HashMap<>();
@@ -84,8 +84,7 @@ public class AuthController {
             return ResponseEntity.ok(response);
 
         } catch (Exception e) {
-            System.out.println("❌ REGISTRATION ERROR: " + e.getMessage());
-            e.printStackTrace();
+            logger.error("Registration failed", e);
             return ResponseEntity.status(500).body(Map.of("error", "Registration failed: " + e.getMessage()));
         }
     }
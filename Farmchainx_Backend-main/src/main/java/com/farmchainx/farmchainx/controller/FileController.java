@@ -1,5 +1,6 @@
 package com.farmchainx.farmchainx.controller;
 
+import com.farmchainx.farmchainx.service.FlightEvents;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.UrlResource;
@@ -21,6 +22,9 @@ public class FileController {
 
     @GetMapping("/{fileName:.+}")
     public ResponseEntity<Resource> serveFile(@PathVariable String fileName) {
+        FlightEvents.FileServe event = new FlightEvents.FileServe();
+        event.begin();
+        long bytes = -1;
         try {
             Path filePath = Paths.get(uploadDir).resolve(fileName).normalize();
             Resource resource = new UrlResource(filePath.toUri());
@@ -31,6 +35,7 @@ public class FileController {
                 if (contentType == null) {
                     contentType = "application/octet-stream";
                 }
+                bytes = resource.contentLength();
 
                 return ResponseEntity.ok()
                         .contentType(MediaType.parseMediaType(contentType))
@@ -41,6 +46,13 @@ public class FileController {
             }
         } catch (Exception e) {
             return ResponseEntity.notFound().build();
+        } finally {
+            if (event.shouldCommit()) {
+                event.fileName = fileName;
+                event.bytes = Math.max(bytes, 0);
+                event.found = bytes >= 0;
+                event.commit();
+            }
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,77 @@
+// OrderController.java
+package com.farmchainx.farmchainx.controller;
+
+import com.farmchainx.farmchainx.model.OrderFill;
+import com.farmchainx.farmchainx.model.User;
+import com.farmchainx.farmchainx.repository.UserRepository;
+import com.farmchainx.farmchainx.service.OrderMatchingService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/orders")
+@CrossOrigin(origins = {"http://localhost:3000", "http://localhost:5173"})
+public class OrderController {
+
+    private final OrderMatchingService orderMatchingService;
+    private final UserRepository userRepository;
+
+    public OrderController(OrderMatchingService orderMatchingService, UserRepository userRepository) {
+        this.orderMatchingService = orderMatchingService;
+        this.userRepository = userRepository;
+    }
+
+    // Place a standing bid for a crop type; returns any fills it matched immediately. Fills are
+    // written asynchronously, and quantity that turns out not to be in stock goes back on the bid
+    @PostMapping("/bids")
+    public ResponseEntity<?> placeBid(@RequestBody Map<String, Object> request, Authentication authentication) {
+        try {
+            User retailer = currentUser(authentication);
+            String cropType = (String) request.get("cropType");
+            Integer quantity = request.get("quantity") != null ? ((Number) request.get("quantity")).intValue() : null;
+            Double maxPrice = request.get("maxPrice") != null ? ((Number) request.get("maxPrice")).doubleValue() : null;
+
+            List<OrderFill> fills = orderMatchingService.placeBid(retailer, cropType, quantity, maxPrice);
+
+            Map<String, Object> response = new HashMap<>();
+            response.put("fills", fills);
+            response.put("filledQuantity", fills.stream().mapToInt(OrderFill::getQuantity).sum());
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(Map.of("error", "Failed to place bid: " + e.getMessage()));
+        }
+    }
+
+    @DeleteMapping("/bids/{bidId}")
+    public ResponseEntity<?> cancelBid(@PathVariable Long bidId, Authentication authentication) {
+        try {
+            if (orderMatchingService.cancelBid(currentUser(authentication), bidId)) {
+                return ResponseEntity.ok().build();
+            }
+            return ResponseEntity.notFound().build();
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(Map.of("error", "Failed to cancel bid: " + e.getMessage()));
+        }
+    }
+
+    // Aggregated price levels for a crop's book
+    @GetMapping("/books/{cropType}")
+    public ResponseEntity<Map<String, Object>> getOrderBook(@PathVariable String cropType,
+                                                            @RequestParam(defaultValue = "10") int levels) {
+        try {
+            return ResponseEntity.ok(orderMatchingService.getOrderBook(cropType, levels));
+        } catch (Exception e) {
+            return ResponseEntity.status(500).body(Map.of("error", "Failed to fetch order book"));
+        }
+    }
+
+    private User currentUser(Authentication authentication) {
+        return userRepository.findByEmail(authentication.getName())
+                .orElseThrow(() -> new RuntimeException("User not found"));
+    }
+}
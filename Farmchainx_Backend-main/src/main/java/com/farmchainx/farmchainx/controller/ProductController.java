@@ -1,41 +1,120 @@
 package com.farmchainx.farmchainx.controller;
 
 import com.farmchainx.farmchainx.model.Product;
+import com.farmchainx.farmchainx.model.User;
+import com.farmchainx.farmchainx.repository.UserRepository;
+import com.farmchainx.farmchainx.service.CatalogSnapshot;
 import com.farmchainx.farmchainx.service.ProductService;
+import com.farmchainx.farmchainx.service.ProductUpdateStream;
 import com.farmchainx.farmchainx.service.FileStorageService;
+import com.farmchainx.farmchainx.service.ProductJsonWriter;
+import org.springframework.data.domain.Page;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.io.IOException;
 import java.time.LocalDate;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/products")
 @CrossOrigin(origins = {"http://localhost:3000", "http://localhost:5173"})
 public class ProductController {
 
+    private static final int MAX_BATCH_SIZE = 200;
+
     private final ProductService productService;
     private final FileStorageService fileStorageService;
+    private final UserRepository userRepository;
+    private final ProductJsonWriter productJsonWriter;
+    private final CatalogSnapshot catalogSnapshot;
+    private final ProductUpdateStream productUpdateStream;
 
-    public ProductController(ProductService productService, FileStorageService fileStorageService) {
+    public ProductController(ProductService productService, FileStorageService fileStorageService,
+                             UserRepository userRepository, ProductJsonWriter productJsonWriter,
+                             CatalogSnapshot catalogSnapshot, ProductUpdateStream productUpdateStream) {
         this.productService = productService;
         this.fileStorageService = fileStorageService;
+        this.userRepository = userRepository;
+        this.productJsonWriter = productJsonWriter;
+        this.catalogSnapshot = catalogSnapshot;
+        this.productUpdateStream = productUpdateStream;
     }
 
+    // Unfiltered requests are served from the catalog snapshot (ETag / If-None-Match, gzip or deflate);
+    // ?fields=id,name,price,imageUrl returns only those properties (see ProductJsonWriter).
+    // Accept: application/cbor or application/x-jackson-smile gets the same data in binary form.
     @GetMapping
-    public ResponseEntity<List<Product>> getAllProducts() {
+    public ResponseEntity<?> getAllProducts(@RequestParam(required = false) String fields,
+                                            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+                                            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+                                            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
         try {
+            MediaType format = ProductJsonWriter.negotiate(accept);
+            if (fields == null && MediaType.APPLICATION_JSON.equals(format)) {
+                return catalog(ifNoneMatch, acceptEncoding);
+            }
+            ProductJsonWriter.Selection selection = productJsonWriter.select(fields);
             List<Product> products = productService.getAllProducts();
-            return ResponseEntity.ok(products);
+            return encoded(productJsonWriter.writeList(products, selection, format), format);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
 
+    // Products and their rating summaries for a whole catalog page in one request, e.g. ?ids=1,2,3
+    @GetMapping("/batch")
+    public ResponseEntity<?> getProductsBatch(@RequestParam List<Long> ids) {
+        if (ids.size() > MAX_BATCH_SIZE) {
+            return ResponseEntity.badRequest().body(Map.of("error", "At most " + MAX_BATCH_SIZE + " ids per request"));
+        }
+        try {
+            return ResponseEntity.ok(productService.getProductsWithRatings(ids));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    // Live price/quantity changes as server-sent events, e.g. ?productIds=1,2&cropTypes=rice
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamUpdates(@RequestParam(required = false) List<Long> productIds,
+                                    @RequestParam(required = false) List<String> cropTypes) {
+        return productUpdateStream.subscribe(productIds != null ? productIds : List.of(),
+                cropTypes != null ? cropTypes : List.of());
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<?> getProduct(@PathVariable Long id, @RequestParam(required = false) String fields,
+                                        @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        try {
+            Optional<Product> product = productService.getProductById(id);
+            if (product.isEmpty()) {
+                return ResponseEntity.notFound().build();
+            }
+            if (fields == null) {
+                return ResponseEntity.ok(product.get());
+            }
+            MediaType format = ProductJsonWriter.negotiate(accept);
+            return encoded(productJsonWriter.write(product.get(), productJsonWriter.select(fields), format), format);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
     @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
     public ResponseEntity<?> createProduct(
             @RequestParam("name") String name,
@@ -48,7 +127,8 @@ public class ProductController {
             @RequestParam(value = "additionalInfo", required = false) String additionalInfo,
             @RequestParam("price") Double price,
             @RequestParam("quantity") Integer quantity,
-            @RequestPart(value = "image", required = false) MultipartFile imageFile) {
+            @RequestPart(value = "image", required = false) MultipartFile imageFile,
+            Authentication authentication) {
 
         try {
             // Create product object from individual parameters
@@ -64,6 +144,7 @@ public class ProductController {
                     .price(price)
                     .quantity(quantity)
                     .averageRating(0.0)
+                    .farmer(currentUser(authentication))
                     .build();
 
             if (imageFile != null && !imageFile.isEmpty()) {
@@ -89,6 +170,8 @@ public class ProductController {
         try {
             Product product = productService.updateProduct(id, updatedProduct);
             return ResponseEntity.ok(product);
+        } catch (ResponseStatusException e) {
+            return ResponseEntity.status(e.getStatusCode()).body(Map.of("error", e.getReason()));
         } catch (RuntimeException e) {
             return ResponseEntity.notFound().build();
         }
@@ -99,19 +182,149 @@ public class ProductController {
         try {
             productService.deleteProduct(id);
             return ResponseEntity.ok().build();
+        } catch (ResponseStatusException e) {
+            return ResponseEntity.status(e.getStatusCode()).body(Map.of("error", e.getReason()));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body("Failed to delete product");
         }
     }
 
+    // The calling farmer's listings; paging totals are returned in headers so the body stays a plain list
     @GetMapping("/my-products")
-    public ResponseEntity<List<Product>> getMyProducts() {
+    public ResponseEntity<?> getMyProducts(Authentication authentication,
+                                           @RequestParam(defaultValue = "0") int page,
+                                           @RequestParam(defaultValue = "100") int size,
+                                           @RequestParam(required = false) String fields,
+                                           @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
         try {
-            List<Product> products = productService.getAllProducts();
-            return ResponseEntity.ok(products);
+            ProductJsonWriter.Selection selection = fields != null ? productJsonWriter.select(fields) : null;
+            User farmer = currentUser(authentication);
+            Page<Product> products = productService.getProductsByFarmer(farmer.getId(),
+                    Math.max(page, 0), Math.min(Math.max(size, 1), 500));
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                    .header("X-Total-Count", String.valueOf(products.getTotalElements()))
+                    .header("X-Total-Pages", String.valueOf(products.getTotalPages()));
+            if (selection == null) {
+                return response.body(products.getContent());
+            }
+            MediaType format = ProductJsonWriter.negotiate(accept);
+            return response.contentType(format)
+                    .body(productJsonWriter.writeList(products.getContent(), selection, format));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
+
+    // The whole catalog from the pre-serialized snapshot: 304 when the client's copy is current,
+    // otherwise the precompressed variant the client accepts
+    private ResponseEntity<byte[]> catalog(String ifNoneMatch, String acceptEncoding) {
+        CatalogSnapshot.Snapshot snapshot = catalogSnapshot.current();
+        String etag = snapshot.etag();
+        String matched = matchingTag(ifNoneMatch, etag);
+        if (matched != null) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(matched)
+                    .cacheControl(CacheControl.noCache())
+                    .build();
+        }
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .cacheControl(CacheControl.noCache())
+                .varyBy(HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING);
+        String encoding = contentEncoding(acceptEncoding);
+        if ("gzip".equals(encoding)) {
+            return response.eTag(etag + "-gzip").header(HttpHeaders.CONTENT_ENCODING, "gzip").body(snapshot.gzip());
+        }
+        if ("deflate".equals(encoding)) {
+            return response.eTag(etag + "-deflate").header(HttpHeaders.CONTENT_ENCODING, "deflate").body(snapshot.deflate());
+        }
+        return response.eTag(etag).body(snapshot.json());
+    }
+
+    // The coding to send for an Accept-Encoding header: "gzip", "deflate" or null for identity.
+    // Highest q-value wins, q=0 refuses a coding and "*" covers codings not named. Identity is
+    // acceptable unless refused; when not named at all it is only the fallback. Ties go to the smaller body. If the client refuses everything we
+    // have, it still gets identity (RFC 9110 lets a server ignore the header rather than send 406).
+    static String contentEncoding(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return null;
+        }
+        Map<String, Double> weights = new HashMap<>();
+        for (String element : acceptEncoding.split(",")) {
+            String[] parts = element.split(";");
+            String coding = parts[0].trim().toLowerCase();
+            if (coding.isEmpty()) {
+                continue;
+            }
+            if (coding.equals("x-gzip")) {
+                coding = "gzip";
+            }
+            weights.put(coding, qValue(parts));
+        }
+        Double any = weights.get("*");
+        double gzip = weights.getOrDefault("gzip", any == null ? 0 : any);
+        double deflate = weights.getOrDefault("deflate", any == null ? 0 : any);
+        double identity = weights.getOrDefault("identity", any == null ? Double.MIN_VALUE : any);
+        if (gzip > 0 && gzip >= deflate && gzip >= identity) {
+            return "gzip";
+        }
+        if (deflate > 0 && deflate >= identity) {
+            return "deflate";
+        }
+        return null;
+    }
+
+    // The q parameter of one Accept-Encoding element; 1 when absent, 0 when malformed
+    private static double qValue(String[] parts) {
+        for (int i = 1; i < parts.length; i++) {
+            String parameter = parts[i].trim();
+            if (parameter.length() > 2 && parameter.substring(0, 2).equalsIgnoreCase("q=")) {
+                try {
+                    double q = Double.parseDouble(parameter.substring(2).trim());
+                    return q >= 0 && q <= 1 ? q : 0;
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 1;
+    }
+
+    // The entity tag in an If-None-Match list that names this snapshot in any of its encodings, or
+    // null. Tags are compared whole with weak comparison (W/ ignored), as RFC 9110 requires for GET.
+    private static String matchingTag(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return null;
+        }
+        if (ifNoneMatch.trim().equals("*")) {
+            return etag;
+        }
+        Set<String> current = Set.of(etag, etag + "-gzip", etag + "-deflate");
+        for (String tag : ifNoneMatch.split(",")) {
+            String opaque = tag.trim();
+            if (opaque.startsWith("W/")) {
+                opaque = opaque.substring(2);
+            }
+            if (opaque.length() >= 2 && opaque.startsWith("\"") && opaque.endsWith("\"")) {
+                opaque = opaque.substring(1, opaque.length() - 1);
+                if (current.contains(opaque)) {
+                    return opaque;
+                }
+            }
+        }
+        return null;
+    }
+
+    private static ResponseEntity<byte[]> encoded(byte[] body, MediaType format) {
+        return ResponseEntity.ok().contentType(format).varyBy(HttpHeaders.ACCEPT).body(body);
+    }
+
+    private User currentUser(Authentication authentication) {
+        return userRepository.findByEmail(authentication.getName())
+                .orElseThrow(() -> new RuntimeException("User not found"));
+    }
 }
\ No newline at end of file
@@ -2,23 +2,30 @@
 package com.farmchainx.farmchainx.controller;
 
 import com.farmchainx.farmchainx.model.Rating;
+import com.farmchainx.farmchainx.model.RatingView;
 import com.farmchainx.farmchainx.model.User;
+import com.farmchainx.farmchainx.repository.UserRepository;
 import com.farmchainx.farmchainx.service.RatingService;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/products")
 @CrossOrigin(origins = {"http://localhost:3000", "http://localhost:5173"})
 public class RatingController {
 
+    private static final int MAX_PAGE_SIZE = 200;
+
     private final RatingService ratingService;
+    private final UserRepository userRepository;
 
-    public RatingController(RatingService ratingService) {
+    public RatingController(RatingService ratingService, UserRepository userRepository) {
         this.ratingService = ratingService;
+        this.userRepository = userRepository;
     }
 
     // Add rating to a product
@@ -26,22 +33,29 @@ public class RatingController {
     public ResponseEntity<?> addRating(
             @PathVariable Long productId,
             @RequestBody Rating rating,
-            @AuthenticationPrincipal User user) {
+            Authentication authentication) {
 
         try {
+            User user = userRepository.findByEmail(authentication.getName())
+                    .orElseThrow(() -> new RuntimeException("User not found"));
             Rating savedRating = ratingService.addRating(productId, rating, user);
-            return ResponseEntity.ok(savedRating);
+            return ResponseEntity.ok(ratingService.toView(savedRating));
         } catch (Exception e) {
             return ResponseEntity.badRequest().body("Failed to add rating: " + e.getMessage());
         }
     }
 
-    // Get all ratings for a product
+    // Get ratings for a product, newest first; X-Next-Cursor holds the cursor for the next page
     @GetMapping("/{productId}/ratings")
-    public ResponseEntity<List<Rating>> getProductRatings(@PathVariable Long productId) {
+    public ResponseEntity<List<RatingView>> getProductRatings(@PathVariable Long productId,
+                                                              @RequestParam(required = false) String cursor,
+                                                              @RequestParam(defaultValue = "50") int limit) {
         try {
-            List<Rating> ratings = ratingService.getRatingsByProductId(productId);
-            return ResponseEntity.ok(ratings);
+            int pageSize = Math.min(Math.max(limit, 1), MAX_PAGE_SIZE);
+            List<RatingView> ratings = ratingService.getRatingViewsByProductId(productId, cursor, pageSize);
+            return page(ratings, pageSize);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
         } catch (Exception e) {
             return ResponseEntity.status(500).build();
         }
@@ -49,10 +63,51 @@ public class RatingController {
 
     // Get all ratings (for admin)
     @GetMapping("/ratings")
-    public ResponseEntity<List<Rating>> getAllRatings() {
+    public ResponseEntity<List<RatingView>> getAllRatings(@RequestParam(required = false) String cursor,
+                                                          @RequestParam(defaultValue = "50") int limit) {
         try {
-            List<Rating> ratings = ratingService.getAllRatings();
-            return ResponseEntity.ok(ratings);
+            int pageSize = Math.min(Math.max(limit, 1), MAX_PAGE_SIZE);
+            List<RatingView> ratings = ratingService.getRatingViews(cursor, pageSize);
+            return page(ratings, pageSize);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            return ResponseEntity.status(500).build();
+        }
+    }
+
+    // Whether the current user has rated this product
+    @GetMapping("/{productId}/ratings/mine")
+    public ResponseEntity<?> hasRated(@PathVariable Long productId, Authentication authentication) {
+        try {
+            User user = userRepository.findByEmail(authentication.getName())
+                    .orElseThrow(() -> new RuntimeException("User not found"));
+            return ResponseEntity.ok(Map.of("rated", ratingService.hasUserRatedProduct(productId, user.getId())));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    // Which of the given products the current user has rated, e.g. ?productIds=1,2,3
+    @GetMapping("/ratings/mine")
+    public ResponseEntity<?> getRatedProductIds(@RequestParam List<Long> productIds, Authentication authentication) {
+        try {
+            User user = userRepository.findByEmail(authentication.getName())
+                    .orElseThrow(() -> new RuntimeException("User not found"));
+            return ResponseEntity.ok(ratingService.getRatedProductIds(user.getId(), productIds));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    // Count, average and star histogram for several products at once, e.g. ?productIds=1,2,3
+    @GetMapping("/ratings/summary")
+    public ResponseEntity<?> getRatingSummaries(@RequestParam List<Long> productIds) {
+        if (productIds.size() > MAX_PAGE_SIZE) {
+            return ResponseEntity.badRequest().body(Map.of("error", "At most " + MAX_PAGE_SIZE + " products per request"));
+        }
+        try {
+            return ResponseEntity.ok(ratingService.getRatingSummaries(productIds).values());
         } catch (Exception e) {
             return ResponseEntity.status(500).build();
         }
@@ -68,4 +123,13 @@ public class RatingController {
             return ResponseEntity.badRequest().body("Failed to delete rating");
         }
     }
-}
\ No newline at end of file
+
+    private ResponseEntity<List<RatingView>> page(List<RatingView> ratings, int pageSize) {
+        String nextCursor = RatingService.nextCursor(ratings, pageSize);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (nextCursor != null) {
+            response.header("X-Next-Cursor", nextCursor);
+        }
+        return response.body(ratings);
+    }
+}
@@ -0,0 +1,35 @@
+// SyncController.java
+package com.farmchainx.farmchainx.controller;
+
+import com.farmchainx.farmchainx.service.SyncService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/sync")
+@CrossOrigin(origins = {"http://localhost:3000", "http://localhost:5173"})
+public class SyncController {
+
+    private static final int MAX_PAGE_SIZE = 1000;
+
+    private final SyncService syncService;
+
+    public SyncController(SyncService syncService) {
+        this.syncService = syncService;
+    }
+
+    // Products and ratings changed after ?since (upserts plus deleted ids). Without since, or when
+    // the log no longer reaches back that far, reset=true: reload everything, then sync from next.
+    // While hasMore is true, call again with since=next.
+    @GetMapping
+    public ResponseEntity<?> sync(@RequestParam(defaultValue = "0") long since,
+                                  @RequestParam(defaultValue = "500") int limit) {
+        try {
+            return ResponseEntity.ok(syncService.changesSince(since, Math.min(Math.max(limit, 1), MAX_PAGE_SIZE)));
+        } catch (Exception e) {
+            return ResponseEntity.status(500).body(Map.of("error", "Failed to sync: " + e.getMessage()));
+        }
+    }
+}
@@ -1,7 +1,7 @@
 package com.farmchainx.farmchainx.controller;
 
 import com.farmchainx.farmchainx.model.User;
-import com.farmchainx.farmchainx.repository.UserRepository;
+import com.farmchainx.farmchainx.service.UserCounters;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -14,27 +14,24 @@ import java.util.Map;
 @RequestMapping("/api/admin")
 public class UserStatsController {
 
-    private final UserRepository userRepository;
+    private final UserCounters userCounters;
 
-    public UserStatsController(UserRepository userRepository) {
-        this.userRepository = userRepository;
+    public UserStatsController(UserCounters userCounters) {
+        this.userCounters = userCounters;
     }
 
     @GetMapping("/user-stats")
     public ResponseEntity<Map<String, Object>> getUserStats() {
         try {
-            long totalUsers = userRepository.count();
-            long farmers = userRepository.countByRole(User.Role.FARMER);
-            long customers = userRepository.countByRole(User.Role.CUSTOMER);
-            long retailers = userRepository.countByRole(User.Role.RETAILER);
-            long admins = userRepository.countByRole(User.Role.ADMIN);
+            UserCounters.Snapshot users = userCounters.snapshot();
 
             Map<String, Object> stats = new HashMap<>();
-            stats.put("total", totalUsers);
-            stats.put("farmers", farmers);
-            stats.put("customers", customers);
-            stats.put("retailers", retailers);
-            stats.put("admins", admins);
+            stats.put("total", users.total());
+            stats.put("farmers", users.count(User.Role.FARMER));
+            stats.put("customers", users.count(User.Role.CUSTOMER));
+            stats.put("retailers", users.count(User.Role.RETAILER));
+            stats.put("admins", users.count(User.Role.ADMIN));
+            stats.put("growth", users.growth());
 
             return ResponseEntity.ok(stats);
         } catch (Exception e) {
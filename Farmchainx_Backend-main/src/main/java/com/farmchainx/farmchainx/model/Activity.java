@@ -7,13 +7,16 @@ import java.time.LocalDateTime;
 
 @Data
 @Entity
-@Table(name = "activities")
+@Table(name = "activities", indexes = {
+        @Index(name = "idx_activities_created_at", columnList = "created_at")
+})
 public class Activity {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
     private String type; // registration, purchase, rating, product, verification
+    @Column(name = "user_name") // "user" is a reserved word in H2 and the table failed to create
     private String user;
     private String role;
     private String action;
@@ -0,0 +1,44 @@
+// Auction.java
+package com.farmchainx.farmchainx.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import java.time.LocalDateTime;
+
+@Data
+@Entity
+@Table(name = "auctions", indexes = {
+        @Index(name = "idx_auctions_status", columnList = "status")
+})
+public class Auction {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private Double startingPrice;  // minimum amount for the whole lot
+    private Double winningAmount;
+    private Integer quantity;      // lot size, fixed when the auction opens
+
+    @Enumerated(EnumType.STRING)
+    private Status status = Status.OPEN;
+
+    @Column(name = "closes_at")
+    private LocalDateTime closesAt;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt = LocalDateTime.now();
+
+    // Relationships
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "product_id")
+    private Product product;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "winner_id")
+    private User winner;
+
+    // FAILED: closed, but settlement kept failing; nothing was sold and the stock is untouched
+    public enum Status {
+        OPEN, SOLD, UNSOLD, FAILED
+    }
+}
@@ -0,0 +1,29 @@
+// AuthenticatedUser.java
+package com.farmchainx.farmchainx.model;
+
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.Collection;
+
+// Security principal built by AuthService.loadUserByUsername. Carries the user's id and role so hot
+// endpoints can act on the caller without looking the user up again.
+public class AuthenticatedUser extends org.springframework.security.core.userdetails.User {
+
+    private final Long id;
+    private final User.Role role;
+
+    public AuthenticatedUser(Long id, String email, String password, User.Role role,
+                             Collection<? extends GrantedAuthority> authorities) {
+        super(email, password, authorities);
+        this.id = id;
+        this.role = role;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public User.Role getRole() {
+        return role;
+    }
+}
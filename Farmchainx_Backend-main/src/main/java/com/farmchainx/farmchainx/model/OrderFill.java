@@ -0,0 +1,24 @@
+// OrderFill.java
+package com.farmchainx.farmchainx.model;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// A match between a retailer bid and a farmer listing, executed at the listing price
+@Data
+@NoArgsConstructor
+public class OrderFill {
+    private Long bidId;
+    private Long retailerId;
+    private Long productId;
+    private Integer quantity;
+    private Double price;
+
+    public OrderFill(Long bidId, Long retailerId, Long productId, Integer quantity, Double price) {
+        this.bidId = bidId;
+        this.retailerId = retailerId;
+        this.productId = productId;
+        this.quantity = quantity;
+        this.price = price;
+    }
+}
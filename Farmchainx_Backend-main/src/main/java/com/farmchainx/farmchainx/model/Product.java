@@ -1,8 +1,13 @@
 // Product.java
 package com.farmchainx.farmchainx.model;
 
+import com.farmchainx.farmchainx.service.CatalogChangeListener;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*; // Changed to jakarta.persistence
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -12,7 +17,12 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
-@Table(name = "products")
+@Table(name = "products", indexes = {
+        @Index(name = "idx_products_farmer_created", columnList = "farmer_id, created_at")
+})
+@EntityListeners(CatalogChangeListener.class)
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "products")
 public class Product {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -34,10 +44,18 @@ public class Product {
     private String imageUrl;
 
     @Column(name = "created_at")
+    @Builder.Default
     private LocalDateTime createdAt = LocalDateTime.now();
 
     // Relationships
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "farmer_id")
+    @JsonIgnore
     private User farmer;
+
+    // Expose only the owner's id; reading it from the lazy proxy does not load the user row
+    @JsonProperty(value = "farmerId", access = JsonProperty.Access.READ_ONLY)
+    public Long getFarmerId() {
+        return farmer != null ? farmer.getId() : null;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,14 @@
+// ProductWithRatings.java
+package com.farmchainx.farmchainx.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductWithRatings {
+    private Product product;
+    private RatingSummary ratings;
+}
@@ -7,7 +7,11 @@ import java.time.LocalDateTime;
 
 @Data
 @Entity
-@Table(name = "purchases")
+@Table(name = "purchases", indexes = {
+        @Index(name = "idx_purchases_product_id", columnList = "product_id"),
+        @Index(name = "idx_purchases_user_id", columnList = "user_id"),
+        @Index(name = "idx_purchases_created_at", columnList = "created_at")
+})
 public class Purchase {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -1,13 +1,20 @@
 // Rating.java
 package com.farmchainx.farmchainx.model;
 
+import com.farmchainx.farmchainx.service.CatalogChangeListener;
 import jakarta.persistence.*; // Changed to jakarta.persistence
 import lombok.Data;
 import java.time.LocalDateTime;
 
 @Data
 @Entity
-@Table(name = "ratings")
+@EntityListeners(CatalogChangeListener.class)
+@Table(name = "ratings", indexes = {
+        @Index(name = "idx_ratings_product_user", columnList = "product_id, user_id"),
+        @Index(name = "idx_ratings_user_product", columnList = "user_id, product_id"),
+        @Index(name = "idx_ratings_product_created", columnList = "product_id, created_at, id"),
+        @Index(name = "idx_ratings_created", columnList = "created_at, id")
+})
 public class Rating {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -0,0 +1,35 @@
+// RatingSummary.java
+package com.farmchainx.farmchainx.model;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+public class RatingSummary {
+    private Long productId;
+    private long count;
+    private Double average = 0.0;
+    private Map<Integer, Long> histogram = new LinkedHashMap<>(); // stars (1-5) -> number of ratings
+
+    public RatingSummary(Long productId) {
+        this.productId = productId;
+        for (int stars = 1; stars <= 5; stars++) {
+            histogram.put(stars, 0L);
+        }
+    }
+
+    // Fold one (stars, count) group into the totals
+    public void add(Integer stars, long ratings) {
+        histogram.merge(stars, ratings, Long::sum);
+        count += ratings;
+        double sum = 0;
+        for (Map.Entry<Integer, Long> bucket : histogram.entrySet()) {
+            sum += bucket.getKey() * (double) bucket.getValue();
+        }
+        average = Math.round(sum / count * 10.0) / 10.0; // same rounding as Product.averageRating
+    }
+}
@@ -0,0 +1,31 @@
+// RatingView.java
+package com.farmchainx.farmchainx.model;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// Flat read model of a rating, built directly by JPQL constructor expressions
+@Data
+@NoArgsConstructor
+public class RatingView {
+    private Long id;
+    private Integer stars;
+    private String comment;
+    private LocalDateTime createdAt;
+    private String userName;
+    private Long productId;
+    private String productName;
+
+    public RatingView(Long id, Integer stars, String comment, LocalDateTime createdAt,
+                      String userName, Long productId, String productName) {
+        this.id = id;
+        this.stars = stars;
+        this.comment = comment;
+        this.createdAt = createdAt;
+        this.userName = userName;
+        this.productId = productId;
+        this.productName = productName;
+    }
+}
@@ -0,0 +1,27 @@
+// RetailerBid.java
+package com.farmchainx.farmchainx.model;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// Standing buy order posted by a retailer against all listings of a crop type
+@Data
+@NoArgsConstructor
+public class RetailerBid {
+    private Long id;
+    private Long retailerId;
+    private String cropType;
+    private Integer quantity;      // remaining quantity still wanted
+    private Double maxPrice;       // highest unit price the retailer accepts
+    private LocalDateTime createdAt = LocalDateTime.now();
+
+    public RetailerBid(Long id, Long retailerId, String cropType, Integer quantity, Double maxPrice) {
+        this.id = id;
+        this.retailerId = retailerId;
+        this.cropType = cropType;
+        this.quantity = quantity;
+        this.maxPrice = maxPrice;
+    }
+}
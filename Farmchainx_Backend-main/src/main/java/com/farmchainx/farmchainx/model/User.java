@@ -1,6 +1,7 @@
 // User.java
 package com.farmchainx.farmchainx.model;
 
+import com.farmchainx.farmchainx.service.UserChangeListener;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*; // Changed to jakarta.persistence
 import lombok.*;
@@ -12,7 +13,11 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
-@Table(name = "users")
+@EntityListeners(UserChangeListener.class)
+@Table(name = "users", indexes = {
+        @Index(name = "idx_users_role_created", columnList = "role, created_at"),
+        @Index(name = "idx_users_created_at", columnList = "created_at")
+})
 public class User {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -0,0 +1,23 @@
+// AuctionRepository.java
+package com.farmchainx.farmchainx.repository;
+
+import com.farmchainx.farmchainx.model.Auction;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface AuctionRepository extends JpaRepository<Auction, Long> {
+
+    // Auctions still accepting bids, used to re-arm close timers on startup
+    List<Auction> findByStatus(Auction.Status status);
+
+    // A lot under an OPEN auction is sold whole, so it stays off the retailer order book
+    boolean existsByProductIdAndStatus(Long productId, Auction.Status status);
+
+    @Query("SELECT a.product.id FROM Auction a WHERE a.status = :status")
+    List<Long> findProductIdsByStatus(@Param("status") Auction.Status status);
+}
@@ -1,7 +1,26 @@
 package com.farmchainx.farmchainx.repository;
 
 import com.farmchainx.farmchainx.model.Product;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Optional;
 
 public interface ProductRepository extends JpaRepository<Product, Long> {
-}
\ No newline at end of file
+
+    // A farmer's own listings, served by idx_products_farmer_created
+    // (explicit query because Product.getFarmerId() would shadow the farmer.id path)
+    @Query(value = "SELECT p FROM Product p WHERE p.farmer.id = :farmerId",
+            countQuery = "SELECT COUNT(p) FROM Product p WHERE p.farmer.id = :farmerId")
+    Page<Product> findByFarmerId(@Param("farmerId") Long farmerId, Pageable pageable);
+
+    // Row-locked read for stock changes, so the quantity checked is the quantity written back
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p FROM Product p WHERE p.id = :id")
+    Optional<Product> findByIdForUpdate(@Param("id") Long id);
+}
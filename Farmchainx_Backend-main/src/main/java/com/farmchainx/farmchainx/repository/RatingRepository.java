@@ -2,21 +2,69 @@
 package com.farmchainx.farmchainx.repository;
 
 import com.farmchainx.farmchainx.model.Rating;
+import com.farmchainx.farmchainx.model.RatingView;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface RatingRepository extends JpaRepository<Rating, Long> {
 
-    // Find all ratings for a specific product
-    List<Rating> findByProductId(Long productId);
+    String VIEW_SELECT = "SELECT new com.farmchainx.farmchainx.model.RatingView("
+            + "r.id, r.stars, r.comment, r.createdAt, u.name, p.id, p.name) "
+            + "FROM Rating r JOIN r.product p LEFT JOIN r.user u ";
+    String KEYSET_BEFORE = "(r.createdAt < :createdAt OR (r.createdAt = :createdAt AND r.id < :id)) ";
+    String NEWEST_FIRST = "ORDER BY r.createdAt DESC, r.id DESC";
 
-    // Find all ratings ordered by creation date (newest first)
-    List<Rating> findAllByOrderByCreatedAtDesc();
+    // Find all ratings for a specific product
+    // (explicit queries filter on the FK columns; the derived versions joined products and scanned ratings)
+    @Query("SELECT r FROM Rating r WHERE r.product.id = :productId")
+    List<Rating> findByProductId(@Param("productId") Long productId);
 
     // Check if user has already rated a product
-    Optional<Rating> findByProductIdAndUserId(Long productId, Long userId);
-}
\ No newline at end of file
+    @Query("SELECT r FROM Rating r WHERE r.product.id = :productId AND r.user.id = :userId")
+    Optional<Rating> findByProductIdAndUserId(@Param("productId") Long productId, @Param("userId") Long userId);
+
+    // Every product a user has rated, used to build their in-memory rated-products bitmap
+    @Query("SELECT r.product.id FROM Rating r WHERE r.user.id = :userId")
+    List<Long> findRatedProductIdsByUserId(@Param("userId") Long userId);
+
+    // Ratings per (product, stars) for a batch of products; folded into RatingSummary histograms
+    @Query("SELECT r.product.id AS productId, r.stars AS stars, COUNT(r) AS ratings FROM Rating r "
+            + "WHERE r.product.id IN :productIds GROUP BY r.product.id, r.stars")
+    List<StarCount> countStarsByProductIds(@Param("productIds") Collection<Long> productIds);
+
+    interface StarCount {
+        Long getProductId();
+        Integer getStars();
+        Long getRatings();
+    }
+
+    // Rating views, newest first, one joined statement per page; the *Before variants continue after a cursor
+    @Query(VIEW_SELECT + "WHERE p.id = :productId " + NEWEST_FIRST)
+    List<RatingView> findViewsByProductId(@Param("productId") Long productId, Limit limit);
+
+    @Query(VIEW_SELECT + "WHERE p.id = :productId AND " + KEYSET_BEFORE + NEWEST_FIRST)
+    List<RatingView> findViewsByProductIdBefore(@Param("productId") Long productId,
+                                                @Param("createdAt") LocalDateTime createdAt,
+                                                @Param("id") Long id,
+                                                Limit limit);
+
+    @Query(VIEW_SELECT + NEWEST_FIRST)
+    List<RatingView> findViews(Limit limit);
+
+    @Query(VIEW_SELECT + "WHERE r.id IN :ids")
+    List<RatingView> findViewsByIds(@Param("ids") Collection<Long> ids);
+
+    @Query(VIEW_SELECT + "WHERE " + KEYSET_BEFORE + NEWEST_FIRST)
+    List<RatingView> findViewsBefore(@Param("createdAt") LocalDateTime createdAt,
+                                     @Param("id") Long id,
+                                     Limit limit);
+}
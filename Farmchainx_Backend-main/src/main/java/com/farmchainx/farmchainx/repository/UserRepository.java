@@ -5,7 +5,9 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, Long> {
@@ -29,4 +31,17 @@ public interface UserRepository extends JpaRepository<User, Long> {
     long countByRoleAndCreatedAtBetween(@Param("role") User.Role role,
                                         @Param("start") LocalDateTime start,
                                         @Param("end") LocalDateTime end);
-}
\ No newline at end of file
+
+    // Users per (role, registration day) in one statement; seeds the in-memory UserCounters. The
+    // highest id in each group comes from the same statement, so it marks exactly which rows were counted
+    @Query("SELECT u.role AS role, CAST(u.createdAt AS LocalDate) AS day, COUNT(u) AS users, MAX(u.id) AS maxId "
+            + "FROM User u GROUP BY u.role, CAST(u.createdAt AS LocalDate)")
+    List<RoleDayCount> countByRoleAndDay();
+
+    interface RoleDayCount {
+        User.Role getRole();
+        LocalDate getDay();
+        Long getUsers();
+        Long getMaxId();
+    }
+}
@@ -0,0 +1,88 @@
+// AuctionLot.java
+package com.farmchainx.farmchainx.service;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+// Live in-memory state of one open auction. The highest bid is an immutable snapshot swapped
+// with compare-and-set, so concurrent bidders never block each other and closing the lot is a
+// single CAS that no late bid can slip past.
+public class AuctionLot {
+
+    private final Long auctionId;
+    private final Long productId;
+    private final Double startingPrice;
+    private final AtomicReference<HighestBid> highest;
+    private final AtomicLong bidCount = new AtomicLong();
+    private final AtomicBoolean updatePending = new AtomicBoolean();
+
+    public AuctionLot(Long auctionId, Long productId, Double startingPrice) {
+        this.auctionId = auctionId;
+        this.productId = productId;
+        this.startingPrice = startingPrice;
+        this.highest = new AtomicReference<>(new HighestBid(null, null, 0L, false));
+    }
+
+    // Returns the new highest bid, or null if the bid was too low or the lot has closed
+    public HighestBid placeBid(Long bidderId, double amount) {
+        while (true) {
+            HighestBid current = highest.get();
+            if (current.closed() || amount < startingPrice
+                    || (current.amount() != null && amount <= current.amount())) {
+                return null;
+            }
+            HighestBid next = new HighestBid(bidderId, amount, System.currentTimeMillis(), false);
+            if (highest.compareAndSet(current, next)) {
+                bidCount.incrementAndGet();
+                return next;
+            }
+        }
+    }
+
+    // Freeze the lot and return the winning bid (amount is null when nobody bid)
+    public HighestBid close() {
+        while (true) {
+            HighestBid current = highest.get();
+            if (current.closed()) {
+                return current;
+            }
+            HighestBid closed = new HighestBid(current.bidderId(), current.amount(), current.placedAt(), true);
+            if (highest.compareAndSet(current, closed)) {
+                return closed;
+            }
+        }
+    }
+
+    // True if the caller should schedule a watcher update; bursts of bids collapse into one push
+    public boolean markUpdatePending() {
+        return updatePending.compareAndSet(false, true);
+    }
+
+    public void clearUpdatePending() {
+        updatePending.set(false);
+    }
+
+    public HighestBid getHighest() {
+        return highest.get();
+    }
+
+    public Long getAuctionId() {
+        return auctionId;
+    }
+
+    public Long getProductId() {
+        return productId;
+    }
+
+    public Double getStartingPrice() {
+        return startingPrice;
+    }
+
+    public long getBidCount() {
+        return bidCount.get();
+    }
+
+    public record HighestBid(Long bidderId, Double amount, long placedAt, boolean closed) {
+    }
+}
@@ -0,0 +1,336 @@
+// AuctionService.java
+package com.farmchainx.farmchainx.service;
+
+import com.farmchainx.farmchainx.model.Auction;
+import com.farmchainx.farmchainx.model.Product;
+import com.farmchainx.farmchainx.model.Purchase;
+import com.farmchainx.farmchainx.model.User;
+import com.farmchainx.farmchainx.repository.AuctionRepository;
+import com.farmchainx.farmchainx.repository.ProductRepository;
+import com.farmchainx.farmchainx.repository.PurchaseRepository;
+import com.farmchainx.farmchainx.repository.UserRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.*;
+
+// Bids live only in memory (AuctionLot) until the lot is settled: an auction still open when the
+// application stops resumes with no bids, and one whose close time passed meanwhile closes UNSOLD.
+// Settlement is retried a few times (auctions.settlement.*); if it keeps failing the auction is
+// marked FAILED so the product is released instead of staying locked under an OPEN auction.
+@Service
+public class AuctionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AuctionService.class);
+
+    private final AuctionRepository auctionRepository;
+    private final ProductRepository productRepository;
+    private final PurchaseRepository purchaseRepository;
+    private final UserRepository userRepository;
+    private final OrderMatchingService orderMatchingService;
+    private final ProductUpdateStream productUpdateStream;
+    private final TransactionTemplate transactionTemplate;
+    private final int settlementAttempts;
+    private final Duration settlementRetryDelay;
+
+    private final Map<Long, AuctionLot> openLots = new ConcurrentHashMap<>();
+    private final Map<Long, List<SseEmitter>> watchers = new ConcurrentHashMap<>();
+
+    // Closing timers live on a timing wheel, settlement and watcher pushes run on their own threads
+    private final HashedTimingWheel closingWheel = new HashedTimingWheel(100, TimeUnit.MILLISECONDS, 512, "auction-close-timer");
+    private final ExecutorService settlementExecutor = Executors.newSingleThreadExecutor(r -> daemon(r, "auction-settlement"));
+    private final ExecutorService notifier = Executors.newFixedThreadPool(2, r -> daemon(r, "auction-notifier"));
+
+    public AuctionService(AuctionRepository auctionRepository,
+                          ProductRepository productRepository,
+                          PurchaseRepository purchaseRepository,
+                          UserRepository userRepository,
+                          OrderMatchingService orderMatchingService,
+                          ProductUpdateStream productUpdateStream,
+                          PlatformTransactionManager transactionManager,
+                          @Value("${auctions.settlement.attempts:3}") int settlementAttempts,
+                          @Value("${auctions.settlement.retry-delay:2s}") Duration settlementRetryDelay) {
+        this.auctionRepository = auctionRepository;
+        this.productRepository = productRepository;
+        this.purchaseRepository = purchaseRepository;
+        this.userRepository = userRepository;
+        this.orderMatchingService = orderMatchingService;
+        this.productUpdateStream = productUpdateStream;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.settlementAttempts = Math.max(1, settlementAttempts);
+        this.settlementRetryDelay = settlementRetryDelay;
+    }
+
+    // Re-arm close timers for auctions that were open when the application stopped; their bids are gone
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeOpenAuctions() {
+        transactionTemplate.executeWithoutResult(status -> {
+            for (Auction auction : auctionRepository.findByStatus(Auction.Status.OPEN)) {
+                arm(auction);
+            }
+        });
+    }
+
+    // Only the product's farmer (or an admin) may auction it, and a product has at most one OPEN
+    // auction (403 and 409 otherwise). The lot size is fixed here; ProductService refuses edits
+    // while the auction runs.
+    public Auction createAuction(User farmer, Long productId, Double startingPrice, LocalDateTime closesAt) {
+        if (farmer.getRole() != User.Role.FARMER && farmer.getRole() != User.Role.ADMIN) {
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Only farmers can auction a lot");
+        }
+        if (closesAt == null || !closesAt.isAfter(LocalDateTime.now())) {
+            throw new RuntimeException("Close time must be in the future");
+        }
+        if (startingPrice != null && (!Double.isFinite(startingPrice) || startingPrice < 0)) {
+            throw new RuntimeException("Starting price must be a non-negative number");
+        }
+
+        // The row lock serializes concurrent attempts on the same product, so only one passes the check
+        Auction saved = transactionTemplate.execute(status -> {
+            Product product = productRepository.findByIdForUpdate(productId)
+                    .orElseThrow(() -> new RuntimeException("Product not found with id: " + productId));
+            if (farmer.getRole() != User.Role.ADMIN
+                    && (product.getFarmer() == null || !product.getFarmer().getId().equals(farmer.getId()))) {
+                throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Only the product's farmer can auction it");
+            }
+            if (auctionRepository.existsByProductIdAndStatus(productId, Auction.Status.OPEN)) {
+                throw new ResponseStatusException(HttpStatus.CONFLICT, "Product already has an open auction");
+            }
+            if (product.getQuantity() == null || product.getQuantity() <= 0) {
+                throw new RuntimeException("Product has no quantity left to auction");
+            }
+
+            Auction auction = new Auction();
+            auction.setProduct(product);
+            auction.setQuantity(product.getQuantity());
+            auction.setStartingPrice(startingPrice != null ? startingPrice : 0.0);
+            auction.setClosesAt(closesAt);
+            return auctionRepository.save(auction);
+        });
+
+        // The lot is sold as a whole, so take it off the retailer order book
+        orderMatchingService.onListingRemoved(productId);
+        arm(saved);
+        return saved;
+    }
+
+    // Lock-free bid acceptance: no DB access, only a CAS on the lot's highest bid. The bidder comes
+    // from the authenticated principal, so not even the user is looked up.
+    public Map<String, Object> placeBid(Long bidderId, User.Role bidderRole, Long auctionId, Double amount) {
+        if (bidderRole != User.Role.RETAILER && bidderRole != User.Role.CUSTOMER) {
+            throw new RuntimeException("Only retailers and customers can bid");
+        }
+        AuctionLot lot = openLots.get(auctionId);
+        if (lot == null) {
+            throw new RuntimeException("Auction is not open: " + auctionId);
+        }
+        // NaN would fail every comparison in the lot's CAS loop, so only finite positive amounts get there
+        if (amount == null || !Double.isFinite(amount) || amount <= 0) {
+            throw new RuntimeException("Bid amount must be a positive number");
+        }
+
+        AuctionLot.HighestBid accepted = lot.placeBid(bidderId, amount);
+        if (accepted != null && lot.markUpdatePending()) {
+            notifier.execute(() -> pushUpdate(lot));
+        }
+
+        Map<String, Object> response = lotSnapshot(lot);
+        response.put("accepted", accepted != null);
+        return response;
+    }
+
+    public Map<String, Object> getLiveState(Long auctionId) {
+        AuctionLot lot = openLots.get(auctionId);
+        if (lot != null) {
+            return lotSnapshot(lot);
+        }
+        Auction auction = auctionRepository.findById(auctionId)
+                .orElseThrow(() -> new RuntimeException("Auction not found with id: " + auctionId));
+        Map<String, Object> state = new HashMap<>();
+        state.put("auctionId", auction.getId());
+        state.put("status", auction.getStatus());
+        state.put("highestBid", auction.getWinningAmount());
+        state.put("closesAt", auction.getClosesAt());
+        return state;
+    }
+
+    public List<Map<String, Object>> getOpenAuctions() {
+        List<Map<String, Object>> auctions = new ArrayList<>();
+        for (AuctionLot lot : openLots.values()) {
+            auctions.add(lotSnapshot(lot));
+        }
+        return auctions;
+    }
+
+    // Server-sent events stream of the highest bid until the auction closes
+    public SseEmitter watch(Long auctionId) {
+        AuctionLot lot = openLots.get(auctionId);
+        if (lot == null) {
+            throw new RuntimeException("Auction is not open: " + auctionId);
+        }
+
+        SseEmitter emitter = new SseEmitter(0L);
+        List<SseEmitter> lotWatchers = watchers.computeIfAbsent(auctionId, id -> new CopyOnWriteArrayList<>());
+        lotWatchers.add(emitter);
+        emitter.onCompletion(() -> lotWatchers.remove(emitter));
+        emitter.onTimeout(() -> lotWatchers.remove(emitter));
+        emitter.onError(e -> lotWatchers.remove(emitter));
+
+        send(emitter, "bid", lotSnapshot(lot));
+        return emitter;
+    }
+
+    private void arm(Auction auction) {
+        AuctionLot lot = new AuctionLot(auction.getId(), auction.getProduct().getId(), auction.getStartingPrice());
+        openLots.put(auction.getId(), lot);
+        long delay = Math.max(0, Duration.between(LocalDateTime.now(), auction.getClosesAt()).toMillis());
+        closingWheel.schedule(() -> close(lot), delay, TimeUnit.MILLISECONDS);
+    }
+
+    // Runs on the wheel thread: freeze the lot immediately, settle in the background. The closed lot
+    // stays in openLots (refusing bids) until settlement is over.
+    private void close(AuctionLot lot) {
+        AuctionLot.HighestBid winner = lot.close();
+        settlementExecutor.execute(() -> settle(lot, winner, 1));
+    }
+
+    // A failed attempt is retried from the wheel after attempt * retry-delay; after the last one the
+    // auction is marked FAILED in a transaction of its own
+    private void settle(AuctionLot lot, AuctionLot.HighestBid winner, int attempt) {
+        Product settled;
+        try {
+            settled = transactionTemplate.execute(status -> {
+                Auction auction = auctionRepository.findById(lot.getAuctionId())
+                        .orElseThrow(() -> new RuntimeException("Auction not found with id: " + lot.getAuctionId()));
+                Product product = productRepository.findByIdForUpdate(lot.getProductId())
+                        .orElseThrow(() -> new RuntimeException("Product not found with id: " + lot.getProductId()));
+                // Auctions from before the lot size was recorded sell whatever is in stock
+                int lotQuantity = auction.getQuantity() != null ? auction.getQuantity() : product.getQuantity();
+                int inStock = product.getQuantity() != null ? product.getQuantity() : 0;
+
+                if (winner.amount() == null) {
+                    auction.setStatus(Auction.Status.UNSOLD);
+                } else if (inStock < lotQuantity) {
+                    logger.error("Auction {} not settled: lot of {} but only {} in stock",
+                            lot.getAuctionId(), lotQuantity, inStock);
+                    auction.setStatus(Auction.Status.UNSOLD);
+                } else {
+                    User buyer = userRepository.findById(winner.bidderId())
+                            .orElseThrow(() -> new RuntimeException("User not found with id: " + winner.bidderId()));
+
+                    purchaseRepository.save(new Purchase(lotQuantity, winner.amount(), product, buyer));
+                    product.setQuantity(inStock - lotQuantity);
+                    productRepository.save(product);
+
+                    auction.setStatus(Auction.Status.SOLD);
+                    auction.setWinner(buyer);
+                    auction.setWinningAmount(winner.amount());
+                }
+                auctionRepository.save(auction);
+                return product;
+            });
+        } catch (Exception e) {
+            if (attempt < settlementAttempts) {
+                logger.warn("Failed to settle auction {} (attempt {} of {}), retrying: {}",
+                        lot.getAuctionId(), attempt, settlementAttempts, e.getMessage());
+                closingWheel.schedule(() -> settlementExecutor.execute(() -> settle(lot, winner, attempt + 1)),
+                        settlementRetryDelay.toMillis() * attempt, TimeUnit.MILLISECONDS);
+                return;
+            }
+            logger.error("Failed to settle auction {} after {} attempts, marking it FAILED: {}",
+                    lot.getAuctionId(), attempt, e.getMessage());
+            settled = markFailed(lot);
+        }
+        openLots.remove(lot.getAuctionId());
+        if (settled != null) {
+            // The auction is no longer OPEN: whatever stock is left (all of it if unsold) goes back on the book
+            orderMatchingService.onListingChanged(settled);
+            productUpdateStream.publish(settled);
+        }
+
+        Map<String, Object> result = lotSnapshot(lot);
+        List<SseEmitter> lotWatchers = watchers.remove(lot.getAuctionId());
+        if (lotWatchers != null) {
+            for (SseEmitter emitter : lotWatchers) {
+                send(emitter, "closed", result);
+                emitter.complete();
+            }
+        }
+    }
+
+    // Releases the product without selling anything. Returns null if even this fails; the auction
+    // then stays OPEN and is closed again (without its bids) on the next start.
+    private Product markFailed(AuctionLot lot) {
+        try {
+            return transactionTemplate.execute(status -> {
+                Auction auction = auctionRepository.findById(lot.getAuctionId())
+                        .orElseThrow(() -> new RuntimeException("Auction not found with id: " + lot.getAuctionId()));
+                auction.setStatus(Auction.Status.FAILED);
+                auctionRepository.save(auction);
+                return productRepository.findById(lot.getProductId()).orElse(null);
+            });
+        } catch (Exception e) {
+            logger.error("Failed to mark auction {} FAILED: {}", lot.getAuctionId(), e.getMessage());
+            return null;
+        }
+    }
+
+    private void pushUpdate(AuctionLot lot) {
+        lot.clearUpdatePending(); // bids after this point schedule a fresh push
+        List<SseEmitter> lotWatchers = watchers.get(lot.getAuctionId());
+        if (lotWatchers == null || lotWatchers.isEmpty()) {
+            return;
+        }
+        Map<String, Object> snapshot = lotSnapshot(lot);
+        for (SseEmitter emitter : lotWatchers) {
+            send(emitter, "bid", snapshot);
+        }
+    }
+
+    private void send(SseEmitter emitter, String event, Map<String, Object> data) {
+        try {
+            emitter.send(SseEmitter.event().name(event).data(data));
+        } catch (IOException | IllegalStateException e) {
+            emitter.completeWithError(e);
+        }
+    }
+
+    private Map<String, Object> lotSnapshot(AuctionLot lot) {
+        AuctionLot.HighestBid highest = lot.getHighest();
+        Map<String, Object> snapshot = new HashMap<>();
+        snapshot.put("auctionId", lot.getAuctionId());
+        snapshot.put("productId", lot.getProductId());
+        snapshot.put("startingPrice", lot.getStartingPrice());
+        snapshot.put("highestBid", highest.amount());
+        snapshot.put("bids", lot.getBidCount());
+        snapshot.put("status", highest.closed() ? "CLOSED" : "OPEN");
+        return snapshot;
+    }
+
+    private static Thread daemon(Runnable r, String name) {
+        Thread thread = new Thread(r, name);
+        thread.setDaemon(true);
+        return thread;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        closingWheel.stop();
+        settlementExecutor.shutdown();
+        notifier.shutdown();
+    }
+}
@@ -1,5 +1,6 @@
 package com.farmchainx.farmchainx.service;
 
+import com.farmchainx.farmchainx.model.AuthenticatedUser;
 import com.farmchainx.farmchainx.model.User;
 import com.farmchainx.farmchainx.repository.UserRepository;
 import org.springframework.security.core.GrantedAuthority;
@@ -60,16 +61,26 @@ public class AuthService implements UserDetailsService {
 
     @Override
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
-        User user = userRepository.findByEmail(email.toLowerCase().trim())
-                .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + email));
+        FlightEvents.UserLookup event = new FlightEvents.UserLookup();
+        event.begin();
+        Optional<User> found = userRepository.findByEmail(email.toLowerCase().trim());
+        if (event.shouldCommit()) {
+            event.email = email;
+            event.found = found.isPresent();
+            event.role = found.map(u -> u.getRole().name()).orElse(null);
+            event.commit();
+        }
+        User user = found.orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + email));
 
         List<GrantedAuthority> authorities = Collections.singletonList(
                 new SimpleGrantedAuthority("ROLE_" + user.getRole().name())
         );
 
-        return new org.springframework.security.core.userdetails.User(
+        return new AuthenticatedUser(
+                user.getId(),
                 user.getEmail(),
                 user.getPassword(),
+                user.getRole(),
                 authorities
         );
     }
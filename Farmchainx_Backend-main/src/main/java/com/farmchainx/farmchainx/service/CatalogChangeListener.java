@@ -0,0 +1,45 @@
+// CatalogChangeListener.java
+package com.farmchainx.farmchainx.service;
+
+import com.farmchainx.farmchainx.model.Product;
+import com.farmchainx.farmchainx.model.Rating;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+// JPA callbacks for Product and Rating, so every write path (ProductService, RatingService, order
+// fills, auction settlement) invalidates the catalog snapshot and lands in the sync change log
+@Component
+public class CatalogChangeListener {
+
+    private final CatalogSnapshot catalogSnapshot;
+    private final ChangeLog changeLog;
+
+    public CatalogChangeListener(@Lazy CatalogSnapshot catalogSnapshot, @Lazy ChangeLog changeLog) {
+        this.catalogSnapshot = catalogSnapshot;
+        this.changeLog = changeLog;
+    }
+
+    @PostPersist
+    @PostUpdate
+    public void onSave(Object entity) {
+        if (entity instanceof Product product) {
+            catalogSnapshot.invalidate();
+            changeLog.recordUpsert(ChangeLog.Type.PRODUCT, product.getId());
+        } else if (entity instanceof Rating rating) {
+            changeLog.recordUpsert(ChangeLog.Type.RATING, rating.getId());
+        }
+    }
+
+    @PostRemove
+    public void onRemove(Object entity) {
+        if (entity instanceof Product product) {
+            catalogSnapshot.invalidate();
+            changeLog.recordDelete(ChangeLog.Type.PRODUCT, product.getId());
+        } else if (entity instanceof Rating rating) {
+            changeLog.recordDelete(ChangeLog.Type.RATING, rating.getId());
+        }
+    }
+}
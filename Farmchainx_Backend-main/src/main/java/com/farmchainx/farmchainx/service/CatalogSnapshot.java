@@ -0,0 +1,115 @@
+// CatalogSnapshot.java
+package com.farmchainx.farmchainx.service;
+
+import com.farmchainx.farmchainx.repository.ProductRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+
+// The full product list as ready-to-send bytes. Built once per catalog version in plain, gzip and
+// deflate form; any committed product write bumps the version and the next request rebuilds it.
+@Service
+public class CatalogSnapshot {
+
+    public record Snapshot(long version, String etag, byte[] json, byte[] gzip, byte[] deflate) {
+    }
+
+    private final ProductRepository productRepository;
+    private final ProductJsonWriter productJsonWriter;
+    private final AtomicLong version = new AtomicLong();
+    // Not a monitor: a rebuild queries and compresses the whole catalog, and waiting on a
+    // monitor would pin each queued virtual thread to its carrier
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+    private volatile Snapshot snapshot;
+
+    public CatalogSnapshot(ProductRepository productRepository, ProductJsonWriter productJsonWriter) {
+        this.productRepository = productRepository;
+        this.productJsonWriter = productJsonWriter;
+    }
+
+    public Snapshot current() {
+        Snapshot current = snapshot;
+        if (current != null && current.version() == version.get()) {
+            return current;
+        }
+        rebuildLock.lock();
+        try {
+            current = snapshot;
+            long latest = version.get();
+            if (current == null || current.version() != latest) {
+                // Read the version before the query: a write committing meanwhile forces another rebuild
+                current = build(latest);
+                snapshot = current;
+            }
+            return current;
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    // Called for every product insert/update/delete; waits for the commit so a rebuild never sees
+    // the old rows under the new version
+    public void invalidate() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    version.incrementAndGet();
+                }
+            });
+        } else {
+            version.incrementAndGet();
+        }
+    }
+
+    private Snapshot build(long version) {
+        byte[] json = productJsonWriter.writeList(productRepository.findAll(), ProductJsonWriter.ALL_FIELDS);
+        // A DeflaterOutputStream leaves a caller-supplied Deflater open, and its native memory is
+        // only released by end()
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+        try {
+            return new Snapshot(version, etag(json), json,
+                    compress(json, GZIPOutputStream::new),
+                    compress(json, out -> new DeflaterOutputStream(out, deflater)));
+        } finally {
+            deflater.end();
+        }
+    }
+
+    // Content hash rather than the version number, so ETags stay valid across restarts
+    private static String etag(byte[] json) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(json);
+            return HexFormat.of().formatHex(digest, 0, 12);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private interface Compressor {
+        OutputStream wrap(OutputStream out) throws IOException;
+    }
+
+    private static byte[] compress(byte[] data, Compressor compressor) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(data.length / 4 + 64);
+        try (OutputStream out = compressor.wrap(bytes)) {
+            out.write(data);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+}
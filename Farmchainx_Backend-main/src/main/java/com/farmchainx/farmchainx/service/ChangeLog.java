@@ -0,0 +1,100 @@
+// ChangeLog.java
+package com.farmchainx.farmchainx.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.*;
+
+// Compacted, bounded log of product and rating changes for delta sync. Each committed write gets
+// the next sequence number; only the latest change per row is kept, and once the log is full the
+// oldest entries are dropped and clients behind that point are told to resync from scratch.
+@Service
+public class ChangeLog {
+
+    public enum Type { PRODUCT, RATING }
+
+    public enum Op { UPSERT, DELETE }
+
+    public record Change(long seq, Type type, Long id, Op op) {
+    }
+
+    // Changes after a sequence number and where to continue from; reset means the caller is too far
+    // behind (or new) and must reload everything, then continue from next
+    public record Page(List<Change> changes, long next, boolean reset, boolean hasMore) {
+    }
+
+    private record Key(Type type, Long id) {
+    }
+
+    private final int maxEntries;
+    private final NavigableMap<Long, Change> bySeq = new TreeMap<>();
+    private final Map<Key, Long> latestSeq = new HashMap<>();
+
+    // Seeded from the clock so sequence numbers keep increasing across restarts
+    private long lastSeq = System.currentTimeMillis() * 1_000;
+    private long floorSeq = lastSeq;
+
+    public ChangeLog(@Value("${sync.changelog.max-entries:50000}") int maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+
+    public void recordUpsert(Type type, Long id) {
+        recordAfterCommit(new Key(type, id), Op.UPSERT);
+    }
+
+    public void recordDelete(Type type, Long id) {
+        recordAfterCommit(new Key(type, id), Op.DELETE);
+    }
+
+    public synchronized long head() {
+        return lastSeq;
+    }
+
+    // Copies out under the lock so compaction cannot move a row past the reader mid-iteration
+    public synchronized Page since(long since, int limit) {
+        if (since < floorSeq || since > lastSeq) {
+            return new Page(List.of(), lastSeq, true, false);
+        }
+        List<Change> changes = new ArrayList<>(Math.min(limit, 256));
+        for (Change change : bySeq.tailMap(since, false).values()) {
+            if (changes.size() == limit) {
+                return new Page(changes, changes.get(limit - 1).seq(), false, true);
+            }
+            changes.add(change);
+        }
+        return new Page(changes, lastSeq, false, false);
+    }
+
+    // Sequence numbers are taken at commit time, so a reader never sees a later number before an
+    // earlier one becomes visible
+    private void recordAfterCommit(Key key, Op op) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    record(key, op);
+                }
+            });
+        } else {
+            record(key, op);
+        }
+    }
+
+    private synchronized void record(Key key, Op op) {
+        long seq = ++lastSeq;
+        Long previous = latestSeq.put(key, seq);
+        if (previous != null) {
+            bySeq.remove(previous); // compaction: only the newest change per row matters
+        }
+        bySeq.put(seq, new Change(seq, key.type(), key.id(), op));
+
+        while (bySeq.size() > maxEntries) {
+            Map.Entry<Long, Change> oldest = bySeq.pollFirstEntry();
+            latestSeq.remove(new Key(oldest.getValue().type(), oldest.getValue().id()));
+            floorSeq = oldest.getKey();
+        }
+    }
+}
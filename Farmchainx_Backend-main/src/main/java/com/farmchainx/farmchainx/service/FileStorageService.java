@@ -1,5 +1,8 @@
 package com.farmchainx.farmchainx.service;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
@@ -16,8 +19,42 @@ public class FileStorageService {
     @Value("${file.upload-dir}")
     private String uploadDir;
 
+    private final DistributionSummary storedBytes;
+    private final Counter failedUploads;
+
+    public FileStorageService(MeterRegistry meterRegistry) {
+        this.storedBytes = DistributionSummary.builder("file.uploads.stored")
+                .description("Size of uploaded files written to the upload directory")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        this.failedUploads = Counter.builder("file.uploads.failed")
+                .description("Uploads that were empty or could not be written")
+                .register(meterRegistry);
+    }
+
     public String storeFile(MultipartFile file) throws IOException {
+        FlightEvents.FileStore event = new FlightEvents.FileStore();
+        event.begin();
+        String fileName = null;
+        long bytes = 0;
+        try {
+            fileName = writeFile(file);
+            bytes = file.getSize();
+            return fileName;
+        } finally {
+            if (event.shouldCommit()) {
+                event.fileName = fileName != null ? fileName : file.getOriginalFilename();
+                event.contentType = file.getContentType();
+                event.bytes = bytes;
+                event.succeeded = fileName != null;
+                event.commit();
+            }
+        }
+    }
+
+    private String writeFile(MultipartFile file) throws IOException {
         if (file.isEmpty()) {
+            failedUploads.increment();
             throw new IOException("Failed to store empty file.");
         }
 
@@ -37,7 +74,12 @@ public class FileStorageService {
 
         // Copy file to target location
         Path targetLocation = uploadPath.resolve(fileName);
-        Files.copy(file.getInputStream(), targetLocation);
+        try {
+            storedBytes.record(Files.copy(file.getInputStream(), targetLocation));
+        } catch (IOException e) {
+            failedUploads.increment();
+            throw e;
+        }
 
         return fileName;
     }
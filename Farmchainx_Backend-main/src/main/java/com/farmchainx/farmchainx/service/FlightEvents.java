@@ -0,0 +1,107 @@
+// FlightEvents.java
+package com.farmchainx.farmchainx.service;
+
+import jdk.jfr.*;
+
+// Custom JDK Flight Recorder events for the backend's hot paths, shown under "FarmchainX" in JMC.
+// Call sites follow the usual JFR pattern: new + begin() up front, then fill in the fields and
+// commit() only if shouldCommit(). With no recording running (or the event disabled) that is a
+// couple of field writes the JIT can often remove entirely.
+// Frequent per-request events default to a 1 ms threshold so a recording keeps just the slow ones;
+// FlightRecorderService can lower it per recording.
+public final class FlightEvents {
+
+    private FlightEvents() {
+    }
+
+    @Name("farmchainx.TokenVerification")
+    @Label("JWT Verification")
+    @Category({"FarmchainX", "Security"})
+    @Threshold("1 ms")
+    public static class TokenVerification extends Event {
+        @Label("Operation")
+        public String operation;
+
+        @Label("Subject")
+        public String subject;
+
+        @Label("Outcome")
+        public String outcome;
+    }
+
+    @Name("farmchainx.UserLookup")
+    @Label("User Lookup")
+    @Description("AuthService.loadUserByUsername, run for every authenticated request")
+    @Category({"FarmchainX", "Security"})
+    @Threshold("1 ms")
+    public static class UserLookup extends Event {
+        @Label("Email")
+        public String email;
+
+        @Label("Found")
+        public boolean found;
+
+        @Label("Role")
+        public String role;
+    }
+
+    @Name("farmchainx.AdminSection")
+    @Label("Admin Dashboard Section")
+    @Category({"FarmchainX", "Admin"})
+    public static class AdminSection extends Event {
+        @Label("Section")
+        public String section;
+
+        @Label("Result Size")
+        @Description("Entries in the returned list or map")
+        public int resultSize;
+    }
+
+    @Name("farmchainx.FileStore")
+    @Label("File Store")
+    @Category({"FarmchainX", "Files"})
+    public static class FileStore extends Event {
+        @Label("File Name")
+        public String fileName;
+
+        @Label("Content Type")
+        public String contentType;
+
+        @Label("Size")
+        @DataAmount
+        public long bytes;
+
+        @Label("Succeeded")
+        public boolean succeeded;
+    }
+
+    @Name("farmchainx.FileServe")
+    @Label("File Serve")
+    @Description("Resolving an upload and its content type; the body is streamed after the event ends")
+    @Category({"FarmchainX", "Files"})
+    public static class FileServe extends Event {
+        @Label("File Name")
+        public String fileName;
+
+        @Label("Size")
+        @DataAmount
+        public long bytes;
+
+        @Label("Found")
+        public boolean found;
+    }
+
+    @Name("farmchainx.RatingRecompute")
+    @Label("Rating Recompute")
+    @Category({"FarmchainX", "Ratings"})
+    public static class RatingRecompute extends Event {
+        @Label("Product Id")
+        public long productId;
+
+        @Label("Ratings")
+        public int ratings;
+
+        @Label("Average")
+        public double average;
+    }
+}
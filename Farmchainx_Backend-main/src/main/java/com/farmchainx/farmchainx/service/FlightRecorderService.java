@@ -0,0 +1,122 @@
+// FlightRecorderService.java
+package com.farmchainx.farmchainx.service;
+
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Configuration;
+import jdk.jfr.Event;
+import jdk.jfr.Recording;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+// On-demand Flight Recorder recordings for the admin API: JDK events from one of the built-in
+// settings ("default" is cheap enough for production, "profile" samples more) plus the FlightEvents
+// hot-path events at a chosen threshold. Recordings are capped by age and size so a forgotten one
+// cannot fill the disk, and at most a few may exist at once.
+@Service
+public class FlightRecorderService {
+
+    public record RecordingInfo(long id, String name, String state, Instant startTime, Duration maxAge,
+                                long maxSizeBytes, long sizeBytes) {
+    }
+
+    private static final List<Class<? extends Event>> APPLICATION_EVENTS = List.of(
+            FlightEvents.TokenVerification.class,
+            FlightEvents.UserLookup.class,
+            FlightEvents.AdminSection.class,
+            FlightEvents.FileStore.class,
+            FlightEvents.FileServe.class,
+            FlightEvents.RatingRecompute.class);
+
+    private final int maxRecordings;
+    private final long maxSizeBytes;
+    private final Map<Long, Recording> recordings = new ConcurrentHashMap<>();
+    // Serializes the count check with the start, which writes the first chunk to disk
+    private final ReentrantLock startLock = new ReentrantLock();
+
+    public FlightRecorderService(@Value("${jfr.max-recordings:3}") int maxRecordings,
+                                 @Value("${jfr.max-size-mb:256}") long maxSizeMb) {
+        this.maxRecordings = maxRecordings;
+        this.maxSizeBytes = maxSizeMb * 1024 * 1024;
+    }
+
+    // duration may be null to record until stopped; the threshold applies to the application events
+    public RecordingInfo start(String settings, Duration maxAge, Duration duration, Duration threshold)
+            throws IOException, ParseException {
+        startLock.lock();
+        try {
+            if (recordings.size() >= maxRecordings) {
+                throw new IllegalStateException("At most " + maxRecordings + " recordings at a time; delete one first");
+            }
+            if (!settings.equals("default") && !settings.equals("profile")) {
+                throw new IllegalArgumentException("Unknown settings: " + settings + " (use default or profile)");
+            }
+
+            Recording recording = new Recording(Configuration.getConfiguration(settings));
+            recording.setName("farmchainx-" + settings + "-" + Instant.now().getEpochSecond());
+            recording.setToDisk(true);
+            recording.setMaxAge(maxAge);
+            recording.setMaxSize(maxSizeBytes);
+            if (duration != null) {
+                recording.setDuration(duration);
+            }
+            for (Class<? extends Event> event : APPLICATION_EVENTS) {
+                recording.enable(event).withThreshold(threshold).withStackTrace();
+            }
+            recording.start();
+            recordings.put(recording.getId(), recording);
+            return info(recording);
+        } finally {
+            startLock.unlock();
+        }
+    }
+
+    public List<RecordingInfo> list() {
+        return recordings.values().stream().map(FlightRecorderService::info).toList();
+    }
+
+    // Writes what the recording holds so far to a temporary .jfr file; the caller deletes it
+    public Path dump(long id) throws IOException {
+        Recording recording = get(id);
+        Path file = Files.createTempFile("farmchainx-recording-" + id + "-", ".jfr");
+        recording.dump(file);
+        return file;
+    }
+
+    public void delete(long id) {
+        Recording recording = recordings.remove(id);
+        if (recording == null) {
+            throw new IllegalArgumentException("No recording with id " + id);
+        }
+        recording.close(); // stops it if still running and frees its disk chunks
+    }
+
+    private Recording get(long id) {
+        Recording recording = recordings.get(id);
+        if (recording == null) {
+            throw new IllegalArgumentException("No recording with id " + id);
+        }
+        return recording;
+    }
+
+    private static RecordingInfo info(Recording recording) {
+        return new RecordingInfo(recording.getId(), recording.getName(), recording.getState().name(),
+                recording.getStartTime(), recording.getMaxAge(), recording.getMaxSize(), recording.getSize());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        recordings.values().forEach(Recording::close);
+        recordings.clear();
+    }
+}
@@ -0,0 +1,143 @@
+// MatchingEngine.java
+package com.farmchainx.farmchainx.service;
+
+import com.farmchainx.farmchainx.model.OrderFill;
+import com.farmchainx.farmchainx.model.RetailerBid;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+// Runs one OrderBook per crop type. Books are partitioned over a fixed set of single-threaded
+// sequencers by crop, so every book has exactly one writer and matching needs no locks.
+// Callers get a future that completes once their command has been sequenced and matched.
+public class MatchingEngine {
+
+    private final ExecutorService[] sequencers;
+    private final List<Map<String, OrderBook>> books = new ArrayList<>(); // one map per sequencer, owned by it
+    private final Consumer<List<OrderFill>> fillSink;
+
+    private final AtomicLong bidIds = new AtomicLong();
+    private final Map<Long, String> bidCrops = new ConcurrentHashMap<>();
+    private final Map<Long, String> listingCrops = new ConcurrentHashMap<>();
+
+    public MatchingEngine(int shards, Consumer<List<OrderFill>> fillSink) {
+        this.sequencers = new ExecutorService[shards];
+        this.fillSink = fillSink;
+        for (int i = 0; i < shards; i++) {
+            String threadName = "order-book-" + i;
+            sequencers[i] = Executors.newSingleThreadExecutor(r -> {
+                Thread thread = new Thread(r, threadName);
+                thread.setDaemon(true);
+                return thread;
+            });
+            books.add(new HashMap<>());
+        }
+    }
+
+    public CompletableFuture<List<OrderFill>> submitBid(Long retailerId, String cropType, Integer quantity, Double maxPrice) {
+        String crop = normalize(cropType);
+        RetailerBid bid = new RetailerBid(bidIds.incrementAndGet(), retailerId, crop, quantity, maxPrice);
+        bidCrops.put(bid.getId(), crop);
+
+        return sequence(crop, book -> {
+            List<OrderFill> fills = book.placeBid(bid);
+            forgetIfDone(book, bid.getId());
+            return publish(fills);
+        });
+    }
+
+    // Add, reprice or resize a farmer listing; moving it to another crop removes it from the old book
+    public CompletableFuture<List<OrderFill>> submitListing(Long productId, String cropType, Double price, Integer quantity) {
+        String crop = normalize(cropType);
+        String previousCrop = listingCrops.put(productId, crop);
+        if (previousCrop != null && !previousCrop.equals(crop)) {
+            removeListing(productId, previousCrop);
+        }
+
+        return sequence(crop, book -> {
+            List<OrderFill> fills = book.placeListing(productId, price, quantity);
+            return publish(fills);
+        });
+    }
+
+    public CompletableFuture<Boolean> cancelBid(Long bidId, Long retailerId) {
+        String crop = bidCrops.get(bidId);
+        if (crop == null) {
+            return CompletableFuture.completedFuture(false);
+        }
+        return sequence(crop, book -> {
+            boolean cancelled = book.cancelBid(bidId, retailerId);
+            forgetIfDone(book, bidId);
+            return cancelled;
+        });
+    }
+
+    public CompletableFuture<Boolean> removeListing(Long productId) {
+        String crop = listingCrops.remove(productId);
+        if (crop == null) {
+            return CompletableFuture.completedFuture(false);
+        }
+        return removeListing(productId, crop);
+    }
+
+    // Report how much of a fill was actually written and how much stock its listing has left; see
+    // OrderBook.settleFill. Sequenced with the bid's book like every other command.
+    public CompletableFuture<List<OrderFill>> settleFill(OrderFill fill, int delivered, int inStock) {
+        String crop = bidCrops.get(fill.getBidId());
+        if (crop == null) {
+            return CompletableFuture.completedFuture(List.of());
+        }
+        return sequence(crop, book -> {
+            List<OrderFill> fills = book.settleFill(fill, delivered, inStock);
+            forgetIfDone(book, fill.getBidId());
+            return publish(fills);
+        });
+    }
+
+    public CompletableFuture<Map<String, Object>> depth(String cropType, int levels) {
+        String crop = normalize(cropType);
+        return sequence(crop, book -> book.depth(levels));
+    }
+
+    public void shutdown() {
+        for (ExecutorService sequencer : sequencers) {
+            sequencer.shutdown();
+        }
+    }
+
+    private CompletableFuture<Boolean> removeListing(Long productId, String crop) {
+        return sequence(crop, book -> book.removeListing(productId));
+    }
+
+    private <T> CompletableFuture<T> sequence(String crop, Function<OrderBook, T> command) {
+        int shard = Math.floorMod(crop.hashCode(), sequencers.length);
+        Map<String, OrderBook> shardBooks = books.get(shard);
+        return CompletableFuture.supplyAsync(
+                () -> command.apply(shardBooks.computeIfAbsent(crop, OrderBook::new)),
+                sequencers[shard]);
+    }
+
+    private List<OrderFill> publish(List<OrderFill> fills) {
+        if (!fills.isEmpty()) {
+            fillSink.accept(fills);
+        }
+        return fills;
+    }
+
+    // A bid's crop is kept while it rests or has fills to settle
+    private void forgetIfDone(OrderBook book, Long bidId) {
+        if (!book.tracksBid(bidId)) {
+            bidCrops.remove(bidId);
+        }
+    }
+
+    private static String normalize(String cropType) {
+        if (cropType == null || cropType.isBlank()) {
+            throw new IllegalArgumentException("Crop type is required");
+        }
+        return cropType.trim().toLowerCase(Locale.ROOT);
+    }
+}
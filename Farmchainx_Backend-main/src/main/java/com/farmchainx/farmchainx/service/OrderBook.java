@@ -0,0 +1,262 @@
+// OrderBook.java
+package com.farmchainx.farmchainx.service;
+
+import com.farmchainx.farmchainx.model.OrderFill;
+import com.farmchainx.farmchainx.model.RetailerBid;
+
+import java.util.*;
+
+// Price-time priority book for a single crop type. Bids are retailer buy orders (best =
+// highest max price), asks are farmer listings (best = lowest price), FIFO within a level.
+// Fills execute at the listing price so a retailer never pays more than the farmer asked.
+// Fills are provisional until settleFill reports what was actually delivered: until then the book
+// remembers the bid, and any quantity that couldn't be delivered goes back on it.
+// Not thread-safe: each book is owned by exactly one sequencer thread in MatchingEngine.
+public class OrderBook {
+
+    private final String cropType;
+
+    private final NavigableMap<Double, Deque<RetailerBid>> bids = new TreeMap<>(Comparator.reverseOrder());
+    private final NavigableMap<Double, Deque<Listing>> asks = new TreeMap<>();
+    private final Map<Long, RetailerBid> bidsById = new HashMap<>();
+    private final Map<Long, Listing> listingsByProductId = new HashMap<>();
+    private final Map<Long, PendingBid> pendingBids = new HashMap<>(); // bids with unsettled fills
+    private final Map<Long, Integer> unsettledByProductId = new HashMap<>(); // quantity matched, not yet written
+
+    public OrderBook(String cropType) {
+        this.cropType = cropType;
+    }
+
+    public String getCropType() {
+        return cropType;
+    }
+
+    // Match an incoming bid against resting listings; any remainder rests in the book
+    public List<OrderFill> placeBid(RetailerBid bid) {
+        List<OrderFill> fills = new ArrayList<>();
+
+        while (bid.getQuantity() > 0 && !asks.isEmpty()) {
+            Map.Entry<Double, Deque<Listing>> best = asks.firstEntry();
+            if (best.getKey() > bid.getMaxPrice()) {
+                break;
+            }
+
+            Deque<Listing> level = best.getValue();
+            Listing listing = level.peekFirst();
+            int quantity = Math.min(bid.getQuantity(), listing.quantity);
+
+            fills.add(new OrderFill(bid.getId(), bid.getRetailerId(), listing.productId, quantity, listing.price));
+            pending(bid).fills++;
+            unsettledByProductId.merge(listing.productId, quantity, Integer::sum);
+            bid.setQuantity(bid.getQuantity() - quantity);
+            listing.quantity -= quantity;
+
+            if (listing.quantity == 0) {
+                level.pollFirst();
+                listingsByProductId.remove(listing.productId);
+                if (level.isEmpty()) {
+                    asks.remove(best.getKey());
+                }
+            }
+        }
+
+        if (bid.getQuantity() > 0) {
+            bids.computeIfAbsent(bid.getMaxPrice(), price -> new ArrayDeque<>()).addLast(bid);
+            bidsById.put(bid.getId(), bid);
+        }
+
+        return fills;
+    }
+
+    // Add or replace a farmer listing. Shrinking a listing at the same price keeps its place in
+    // the queue (stock sold elsewhere shouldn't cost the farmer priority); a reprice or a larger
+    // quantity replaces it at the back of its level.
+    // The quantity is the stock in the database, which doesn't yet reflect fills still being
+    // written, so those are taken off it; otherwise their stock would be offered a second time.
+    public List<OrderFill> placeListing(Long productId, Double price, Integer quantity) {
+        List<OrderFill> fills = new ArrayList<>();
+        if (quantity != null) {
+            quantity -= unsettledByProductId.getOrDefault(productId, 0);
+        }
+        Listing resting = listingsByProductId.get(productId);
+        if (resting != null && resting.price.equals(price) && quantity != null && quantity > 0
+                && quantity <= resting.quantity) {
+            resting.quantity = quantity;
+            return fills;
+        }
+        removeListing(productId);
+
+        if (price == null || quantity == null || quantity <= 0) {
+            return fills;
+        }
+
+        Listing listing = new Listing(productId, price, quantity);
+
+        while (listing.quantity > 0 && !bids.isEmpty()) {
+            Map.Entry<Double, Deque<RetailerBid>> best = bids.firstEntry();
+            if (best.getKey() < price) {
+                break;
+            }
+
+            Deque<RetailerBid> level = best.getValue();
+            RetailerBid bid = level.peekFirst();
+            int filled = Math.min(bid.getQuantity(), listing.quantity);
+
+            fills.add(new OrderFill(bid.getId(), bid.getRetailerId(), productId, filled, price));
+            pending(bid).fills++;
+            unsettledByProductId.merge(productId, filled, Integer::sum);
+            bid.setQuantity(bid.getQuantity() - filled);
+            listing.quantity -= filled;
+
+            if (bid.getQuantity() == 0) {
+                level.pollFirst();
+                bidsById.remove(bid.getId());
+                if (level.isEmpty()) {
+                    bids.remove(best.getKey());
+                }
+            }
+        }
+
+        if (listing.quantity > 0) {
+            asks.computeIfAbsent(price, p -> new ArrayDeque<>()).addLast(listing);
+            listingsByProductId.put(productId, listing);
+        }
+
+        return fills;
+    }
+
+    // Cancel a bid, only if it belongs to the given retailer. A bid that is fully matched but not yet
+    // settled can still be cancelled: undelivered quantity then isn't put back on it.
+    public boolean cancelBid(Long bidId, Long retailerId) {
+        PendingBid pending = pendingBids.get(bidId);
+        if (pending != null && pending.bid.getRetailerId().equals(retailerId)) {
+            pending.cancelled = true;
+        }
+        RetailerBid bid = bidsById.get(bidId);
+        if (bid == null || !bid.getRetailerId().equals(retailerId)) {
+            return pending != null && pending.cancelled;
+        }
+        bidsById.remove(bidId);
+        Deque<RetailerBid> level = bids.get(bid.getMaxPrice());
+        level.remove(bid);
+        if (level.isEmpty()) {
+            bids.remove(bid.getMaxPrice());
+        }
+        return true;
+    }
+
+    // Called once a fill has been written: `delivered` of its quantity went through and the product
+    // has `inStock` left in the database. The listing is only ever shrunk to match (less what other
+    // unwritten fills have taken), never grown. The undelivered rest goes back on the bid: added to
+    // it if it still rests, otherwise re-placed, which may match other listings (returned).
+    public List<OrderFill> settleFill(OrderFill fill, int delivered, int inStock) {
+        unsettledByProductId.computeIfPresent(fill.getProductId(),
+                (productId, unsettled) -> unsettled > fill.getQuantity() ? unsettled - fill.getQuantity() : null);
+        int available = inStock - unsettledByProductId.getOrDefault(fill.getProductId(), 0);
+        Listing listing = listingsByProductId.get(fill.getProductId());
+        if (listing != null && available < listing.quantity) {
+            if (available > 0) {
+                listing.quantity = available;
+            } else {
+                removeListing(fill.getProductId());
+            }
+        }
+
+        PendingBid pending = pendingBids.get(fill.getBidId());
+        if (pending == null) {
+            return List.of();
+        }
+        List<OrderFill> fills = List.of();
+        int undelivered = fill.getQuantity() - delivered;
+        if (undelivered > 0 && !pending.cancelled) {
+            RetailerBid bid = pending.bid;
+            if (bidsById.containsKey(bid.getId())) {
+                bid.setQuantity(bid.getQuantity() + undelivered);
+            } else {
+                bid.setQuantity(undelivered);
+                fills = placeBid(bid);
+            }
+        }
+        if (--pending.fills == 0) {
+            pendingBids.remove(fill.getBidId());
+        }
+        return fills;
+    }
+
+    public boolean removeListing(Long productId) {
+        Listing listing = listingsByProductId.remove(productId);
+        if (listing == null) {
+            return false;
+        }
+        Deque<Listing> level = asks.get(listing.price);
+        level.remove(listing);
+        if (level.isEmpty()) {
+            asks.remove(listing.price);
+        }
+        return true;
+    }
+
+    public boolean hasBid(Long bidId) {
+        return bidsById.containsKey(bidId);
+    }
+
+    // Resting, or waiting for fills to settle
+    public boolean tracksBid(Long bidId) {
+        return bidsById.containsKey(bidId) || pendingBids.containsKey(bidId);
+    }
+
+    public boolean isEmpty() {
+        return bidsById.isEmpty() && listingsByProductId.isEmpty();
+    }
+
+    // Aggregated view of each price level, best prices first
+    public Map<String, Object> depth(int levels) {
+        List<Map<String, Object>> bidLevels = new ArrayList<>();
+        bids.entrySet().stream().limit(levels).forEach(entry -> bidLevels.add(level(entry.getKey(),
+                entry.getValue().stream().mapToInt(RetailerBid::getQuantity).sum(), entry.getValue().size())));
+
+        List<Map<String, Object>> askLevels = new ArrayList<>();
+        asks.entrySet().stream().limit(levels).forEach(entry -> askLevels.add(level(entry.getKey(),
+                entry.getValue().stream().mapToInt(l -> l.quantity).sum(), entry.getValue().size())));
+
+        Map<String, Object> depth = new HashMap<>();
+        depth.put("cropType", cropType);
+        depth.put("bids", bidLevels);
+        depth.put("asks", askLevels);
+        return depth;
+    }
+
+    private PendingBid pending(RetailerBid bid) {
+        return pendingBids.computeIfAbsent(bid.getId(), id -> new PendingBid(bid));
+    }
+
+    private static Map<String, Object> level(Double price, int quantity, int orders) {
+        Map<String, Object> level = new HashMap<>();
+        level.put("price", price);
+        level.put("quantity", quantity);
+        level.put("orders", orders);
+        return level;
+    }
+
+    private static final class Listing {
+        private final Long productId;
+        private final Double price;
+        private int quantity;
+
+        private Listing(Long productId, Double price, int quantity) {
+            this.productId = productId;
+            this.price = price;
+            this.quantity = quantity;
+        }
+    }
+
+    private static final class PendingBid {
+        private final RetailerBid bid;
+        private int fills;
+        private boolean cancelled;
+
+        private PendingBid(RetailerBid bid) {
+            this.bid = bid;
+        }
+    }
+}
@@ -0,0 +1,175 @@
+// OrderMatchingService.java
+package com.farmchainx.farmchainx.service;
+
+import com.farmchainx.farmchainx.model.Auction;
+import com.farmchainx.farmchainx.model.OrderFill;
+import com.farmchainx.farmchainx.model.Product;
+import com.farmchainx.farmchainx.model.Purchase;
+import com.farmchainx.farmchainx.model.User;
+import com.farmchainx.farmchainx.repository.AuctionRepository;
+import com.farmchainx.farmchainx.repository.ProductRepository;
+import com.farmchainx.farmchainx.repository.PurchaseRepository;
+import com.farmchainx.farmchainx.repository.UserRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+@Service
+public class OrderMatchingService {
+
+    private static final Logger logger = LoggerFactory.getLogger(OrderMatchingService.class);
+
+    private final ProductRepository productRepository;
+    private final PurchaseRepository purchaseRepository;
+    private final UserRepository userRepository;
+    private final AuctionRepository auctionRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final MatchingEngine engine;
+    private final ProductUpdateStream productUpdateStream;
+
+    // Fills are persisted off the sequencer threads so DB latency never stalls matching
+    private final ExecutorService fillWriter = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "order-fill-writer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public OrderMatchingService(ProductRepository productRepository,
+                                PurchaseRepository purchaseRepository,
+                                UserRepository userRepository,
+                                AuctionRepository auctionRepository,
+                                PlatformTransactionManager transactionManager,
+                                ProductUpdateStream productUpdateStream,
+                                @Value("${orders.matching.shards:4}") int shards) {
+        this.productRepository = productRepository;
+        this.purchaseRepository = purchaseRepository;
+        this.userRepository = userRepository;
+        this.auctionRepository = auctionRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.productUpdateStream = productUpdateStream;
+        this.engine = new MatchingEngine(shards, fills -> fillWriter.execute(() -> persistFills(fills)));
+    }
+
+    // Load existing farmer listings into the books once the application is up; lots under an
+    // open auction are sold whole and stay off the books
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadListings() {
+        Set<Long> auctioned = new HashSet<>(auctionRepository.findProductIdsByStatus(Auction.Status.OPEN));
+        for (Product product : productRepository.findAll()) {
+            if (!auctioned.contains(product.getId())) {
+                submitListing(product);
+            }
+        }
+    }
+
+    public List<OrderFill> placeBid(User retailer, String cropType, Integer quantity, Double maxPrice) {
+        if (retailer.getRole() != User.Role.RETAILER) {
+            throw new RuntimeException("Only retailers can place bids");
+        }
+        if (quantity == null || quantity <= 0 || maxPrice == null || maxPrice <= 0) {
+            throw new RuntimeException("Quantity and max price must be positive");
+        }
+        return engine.submitBid(retailer.getId(), cropType, quantity, maxPrice).join();
+    }
+
+    public boolean cancelBid(User retailer, Long bidId) {
+        return engine.cancelBid(bidId, retailer.getId()).join();
+    }
+
+    public Map<String, Object> getOrderBook(String cropType, int levels) {
+        return engine.depth(cropType, levels).join();
+    }
+
+    // Called after every committed change to a product's price, quantity or crop so its listing
+    // matches the database
+    public void onListingChanged(Product product) {
+        if (product.getId() != null && auctionRepository.existsByProductIdAndStatus(product.getId(), Auction.Status.OPEN)) {
+            engine.removeListing(product.getId());
+            return;
+        }
+        submitListing(product);
+    }
+
+    private void submitListing(Product product) {
+        if (product.getId() == null || product.getCropType() == null || product.getCropType().isBlank()) {
+            return;
+        }
+        engine.submitListing(product.getId(), product.getCropType(), product.getPrice(), product.getQuantity());
+    }
+
+    public void onListingRemoved(Long productId) {
+        engine.removeListing(productId);
+    }
+
+    // Writes each fill, then settles it with the book: the listing is shrunk to the stock left and any
+    // quantity that couldn't be delivered goes back on the bid, so a retailer told about a fill that
+    // then falls short keeps wanting the rest instead of silently losing it. A fill that fails
+    // outright takes its listing off the book and returns its whole quantity to the bid.
+    private void persistFills(List<OrderFill> fills) {
+        for (OrderFill fill : fills) {
+            FillResult result;
+            try {
+                result = transactionTemplate.execute(status -> persistFill(fill));
+            } catch (Exception e) {
+                logger.error("Failed to persist fill for bid {} on product {}: {}",
+                        fill.getBidId(), fill.getProductId(), e.getMessage());
+                engine.settleFill(fill, 0, 0);
+                continue;
+            }
+            engine.settleFill(fill, result.delivered(), result.inStock());
+            if (result.delivered() > 0) {
+                productUpdateStream.publish(result.product());
+            }
+        }
+    }
+
+    private record FillResult(Product product, int delivered, int inStock) {
+    }
+
+    // The book can be ahead of the database (stock changed by an edit or an auction after the
+    // listing was matched), so the fill is checked against the locked row and shrunk to what is
+    // actually in stock rather than oversold
+    private FillResult persistFill(OrderFill fill) {
+        Product product = productRepository.findByIdForUpdate(fill.getProductId())
+                .orElseThrow(() -> new RuntimeException("Product not found with id: " + fill.getProductId()));
+        User retailer = userRepository.findById(fill.getRetailerId())
+                .orElseThrow(() -> new RuntimeException("User not found with id: " + fill.getRetailerId()));
+
+        int inStock = product.getQuantity() != null ? product.getQuantity() : 0;
+        if (auctionRepository.existsByProductIdAndStatus(product.getId(), Auction.Status.OPEN)) {
+            inStock = 0;
+        }
+        int quantity = Math.min(fill.getQuantity(), inStock);
+        if (quantity < fill.getQuantity()) {
+            logger.warn("Fill for bid {} on product {} cut from {} to {}: only {} in stock; the rest goes back on the bid",
+                    fill.getBidId(), fill.getProductId(), fill.getQuantity(), quantity, inStock);
+        }
+        if (quantity == 0) {
+            return new FillResult(product, 0, inStock);
+        }
+
+        product.setQuantity(inStock - quantity);
+        productRepository.save(product);
+        purchaseRepository.save(new Purchase(quantity, quantity * fill.getPrice(), product, retailer));
+        return new FillResult(product, quantity, inStock - quantity);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        engine.shutdown();
+        fillWriter.shutdown();
+    }
+}
@@ -0,0 +1,258 @@
+// ProductJsonWriter.java
+package com.farmchainx.farmchainx.service;
+
+import com.farmchainx.farmchainx.model.Product;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.core.util.BufferRecycler;
+import com.fasterxml.jackson.core.util.ByteArrayBuilder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.util.MimeTypeUtils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Hand-written streaming serializer for Product responses with a ?fields= selector (JSON, CBOR or Smile).
+// Each field is a precompiled writer straight onto a JsonGenerator, so a request only pays for
+// the fields it asked for and skips Jackson's reflective bean serialization altogether.
+@Service
+public class ProductJsonWriter {
+
+    @FunctionalInterface
+    interface FieldWriter {
+        void write(Product product, JsonGenerator json) throws IOException;
+    }
+
+    // A parsed ?fields= value, ready to be reused across requests
+    public record Selection(FieldWriter[] writers) {
+    }
+
+    // Same names and order as the entity's JSON, so ?fields=<all of them> matches the default output
+    private static final Map<String, FieldWriter> FIELDS = new LinkedHashMap<>();
+
+    static {
+        field("id", (p, json, name) -> number(json, name, p.getId()));
+        field("name", (p, json, name) -> string(json, name, p.getName()));
+        field("cropType", (p, json, name) -> string(json, name, p.getCropType()));
+        field("soilType", (p, json, name) -> string(json, name, p.getSoilType()));
+        field("pesticides", (p, json, name) -> string(json, name, p.getPesticides()));
+        field("harvestDate", (p, json, name) -> date(json, name, p.getHarvestDate()));
+        field("useBeforeDate", (p, json, name) -> date(json, name, p.getUseBeforeDate()));
+        field("location", (p, json, name) -> string(json, name, p.getLocation()));
+        field("additionalInfo", (p, json, name) -> string(json, name, p.getAdditionalInfo()));
+        field("price", (p, json, name) -> number(json, name, p.getPrice()));
+        field("quantity", (p, json, name) -> number(json, name, p.getQuantity()));
+        field("averageRating", (p, json, name) -> number(json, name, p.getAverageRating()));
+        field("imageUrl", (p, json, name) -> string(json, name, p.getImageUrl()));
+        field("createdAt", (p, json, name) -> dateTime(json, name, p.getCreatedAt()));
+        field("farmerId", (p, json, name) -> number(json, name, p.getFarmerId()));
+    }
+
+    // Binds the property name once, pre-quoted, so writing it is a byte copy
+    private static void field(String name, ValueWriter value) {
+        SerializedString quotedName = new SerializedString(name);
+        FIELDS.put(name, (product, json) -> value.write(product, json, quotedName));
+    }
+
+    @FunctionalInterface
+    private interface ValueWriter {
+        void write(Product product, JsonGenerator json, SerializableString name) throws IOException;
+    }
+
+    private static final int MAX_CACHED_SELECTIONS = 256;
+
+    public static final Selection ALL_FIELDS = new Selection(FIELDS.values().toArray(new FieldWriter[0]));
+
+    public static final MediaType CBOR = MediaType.APPLICATION_CBOR;
+    public static final MediaType SMILE = new MediaType("application", "x-jackson-smile");
+
+    private final JsonFactory jsonFactory;
+    private final JsonFactory cborFactory = new CBORFactory();
+    private final JsonFactory smileFactory = new SmileFactory();
+    private final Map<String, Selection> selections = new ConcurrentHashMap<>();
+
+    public ProductJsonWriter(ObjectMapper objectMapper) {
+        this.jsonFactory = objectMapper.getFactory();
+    }
+
+    // JSON unless the Accept header prefers CBOR or Smile: ranges are tried by quality, then
+    // specificity, and a wildcard (*/* or application/*) is answered with JSON
+    public static MediaType negotiate(String accept) {
+        if (accept != null) {
+            List<MediaType> types = MediaType.parseMediaTypes(accept);
+            MimeTypeUtils.sortBySpecificity(types);
+            for (MediaType type : types) {
+                if (type.getQualityValue() == 0) {
+                    continue;
+                }
+                if (type.isWildcardType() || type.isWildcardSubtype()) {
+                    return MediaType.APPLICATION_JSON;
+                }
+                if (CBOR.includes(type)) {
+                    return CBOR;
+                }
+                if (SMILE.includes(type)) {
+                    return SMILE;
+                }
+                if (type.isCompatibleWith(MediaType.APPLICATION_JSON)) {
+                    return MediaType.APPLICATION_JSON;
+                }
+            }
+        }
+        return MediaType.APPLICATION_JSON;
+    }
+
+    // Parses "id,name,price" into a selection; unknown names are rejected
+    public Selection select(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return ALL_FIELDS;
+        }
+        Selection cached = selections.get(fields);
+        if (cached != null) {
+            return cached;
+        }
+
+        Set<String> requested = new HashSet<>();
+        for (String field : fields.split(",")) {
+            String name = field.trim();
+            if (!name.isEmpty()) {
+                if (!FIELDS.containsKey(name)) {
+                    throw new IllegalArgumentException("Unknown field: " + name);
+                }
+                requested.add(name);
+            }
+        }
+        List<FieldWriter> writers = new ArrayList<>();
+        FIELDS.forEach((name, writer) -> {
+            if (requested.contains(name)) {
+                writers.add(writer);
+            }
+        });
+
+        Selection selection = new Selection(writers.toArray(new FieldWriter[0]));
+        if (selections.size() < MAX_CACHED_SELECTIONS) {
+            selections.put(fields, selection);
+        }
+        return selection;
+    }
+
+    public byte[] writeList(Collection<Product> products, Selection selection) {
+        return writeList(products, selection, MediaType.APPLICATION_JSON);
+    }
+
+    // The same field writers drive a CBOR or Smile generator for binary clients
+    public byte[] writeList(Collection<Product> products, Selection selection, MediaType format) {
+        JsonFactory factory = factoryFor(format);
+        // Pooled output buffers, the same way ObjectMapper.writeValueAsBytes does it
+        BufferRecycler recycler = factory._getBufferRecycler();
+        try (ByteArrayBuilder out = new ByteArrayBuilder(recycler)) {
+            writeList(factory, products, selection, out);
+            return out.getClearAndRelease();
+        } finally {
+            recycler.releaseToPool();
+        }
+    }
+
+    public void writeList(Collection<Product> products, Selection selection, OutputStream out) {
+        writeList(jsonFactory, products, selection, out);
+    }
+
+    private static void writeList(JsonFactory factory, Collection<Product> products, Selection selection, OutputStream out) {
+        try (JsonGenerator json = factory.createGenerator(out)) {
+            json.writeStartArray();
+            for (Product product : products) {
+                writeObject(product, selection, json);
+            }
+            json.writeEndArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public byte[] write(Product product, Selection selection, MediaType format) {
+        JsonFactory factory = factoryFor(format);
+        BufferRecycler recycler = factory._getBufferRecycler();
+        try (ByteArrayBuilder out = new ByteArrayBuilder(recycler)) {
+            try (JsonGenerator json = factory.createGenerator(out)) {
+                writeObject(product, selection, json);
+            }
+            return out.getClearAndRelease();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            recycler.releaseToPool();
+        }
+    }
+
+    private JsonFactory factoryFor(MediaType format) {
+        if (CBOR.equalsTypeAndSubtype(format)) {
+            return cborFactory;
+        }
+        if (SMILE.equalsTypeAndSubtype(format)) {
+            return smileFactory;
+        }
+        return jsonFactory;
+    }
+
+    private static void writeObject(Product product, Selection selection, JsonGenerator json) throws IOException {
+        json.writeStartObject();
+        for (FieldWriter writer : selection.writers()) {
+            writer.write(product, json);
+        }
+        json.writeEndObject();
+    }
+
+    private static void string(JsonGenerator json, SerializableString name, String value) throws IOException {
+        json.writeFieldName(name);
+        if (value == null) {
+            json.writeNull();
+        } else {
+            json.writeString(value);
+        }
+    }
+
+    private static void number(JsonGenerator json, SerializableString name, Number value) throws IOException {
+        json.writeFieldName(name);
+        if (value == null) {
+            json.writeNull();
+        } else if (value instanceof Double d) {
+            json.writeNumber(d);
+        } else if (value instanceof Long l) {
+            json.writeNumber(l);
+        } else {
+            json.writeNumber(value.intValue());
+        }
+    }
+
+    // LocalDate.toString() is ISO-8601 and far cheaper than a formatter (Jackson does the same)
+    private static void date(JsonGenerator json, SerializableString name, LocalDate value) throws IOException {
+        json.writeFieldName(name);
+        if (value == null) {
+            json.writeNull();
+        } else {
+            json.writeString(value.toString());
+        }
+    }
+
+    // Formatted rather than toString() so whole-minute times keep their ":00" seconds, as Jackson writes them
+    private static void dateTime(JsonGenerator json, SerializableString name, LocalDateTime value) throws IOException {
+        json.writeFieldName(name);
+        if (value == null) {
+            json.writeNull();
+        } else {
+            json.writeString(DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(value));
+        }
+    }
+}
@@ -1,32 +1,109 @@
 package com.farmchainx.farmchainx.service;
 
+import com.farmchainx.farmchainx.model.Auction;
 import com.farmchainx.farmchainx.model.Product;
+import com.farmchainx.farmchainx.model.ProductWithRatings;
+import com.farmchainx.farmchainx.model.RatingSummary;
+import com.farmchainx.farmchainx.repository.AuctionRepository;
 import com.farmchainx.farmchainx.repository.ProductRepository;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
 
 @Service
 public class ProductService {
 
     private final ProductRepository productRepository;
+    private final OrderMatchingService orderMatchingService;
+    private final RatingService ratingService;
+    private final EntityManager entityManager;
+    private final ProductUpdateStream productUpdateStream;
+    private final AuctionRepository auctionRepository;
 
-    public ProductService(ProductRepository productRepository) {
+    public ProductService(ProductRepository productRepository, OrderMatchingService orderMatchingService,
+                          RatingService ratingService, EntityManager entityManager,
+                          ProductUpdateStream productUpdateStream, AuctionRepository auctionRepository) {
         this.productRepository = productRepository;
+        this.orderMatchingService = orderMatchingService;
+        this.ratingService = ratingService;
+        this.entityManager = entityManager;
+        this.productUpdateStream = productUpdateStream;
+        this.auctionRepository = auctionRepository;
     }
     // Get all products
     public List<Product> getAllProducts() {
         return productRepository.findAll();
     }
 
+    // Get one page of a farmer's listings, newest first
+    public Page<Product> getProductsByFarmer(Long farmerId, int page, int size) {
+        return productRepository.findByFarmerId(farmerId,
+                PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "createdAt", "id")));
+    }
+
+    // Get a single product, served from the second-level cache when present
+    public Optional<Product> getProductById(Long id) {
+        return productRepository.findById(id);
+    }
+
+    // Several products at once, in request order, skipping unknown ids. Hits in the second-level
+    // cache are used as-is and only the misses are fetched, with a single IN query.
+    @Transactional(readOnly = true)
+    public List<Product> getProductsByIds(Collection<Long> ids) {
+        List<Product> loaded = entityManager.unwrap(Session.class)
+                .byMultipleIds(Product.class)
+                .multiLoad(List.copyOf(new LinkedHashSet<>(ids)));
+        List<Product> products = new ArrayList<>(loaded.size());
+        for (Product product : loaded) {
+            if (product != null) {
+                products.add(product);
+            }
+        }
+        return products;
+    }
+
+    // Products plus their rating summaries for a catalog page: one cache/IN lookup and one grouped query
+    @Transactional(readOnly = true)
+    public List<ProductWithRatings> getProductsWithRatings(Collection<Long> ids) {
+        List<Product> products = getProductsByIds(ids);
+        Map<Long, RatingSummary> summaries = ratingService.getRatingSummaries(
+                products.stream().map(Product::getId).toList());
+
+        List<ProductWithRatings> result = new ArrayList<>(products.size());
+        for (Product product : products) {
+            result.add(new ProductWithRatings(product, summaries.get(product.getId())));
+        }
+        return result;
+    }
+
     // Save a new product
     public Product saveProduct(Product product) {
-        return productRepository.save(product);
+        Product saved = productRepository.save(product);
+        orderMatchingService.onListingChanged(saved);
+        return saved;
     }
 
-    // Update existing product
+    // Update existing product. Transactional so the read and the write share one primary connection
+    @Transactional
     public Product updateProduct(Long id, Product updatedProduct) {
+        requireNoOpenAuction(id);
         return productRepository.findById(id).map(product -> {
+            boolean priceOrQuantityChanged = !Objects.equals(product.getPrice(), updatedProduct.getPrice())
+                    || !Objects.equals(product.getQuantity(), updatedProduct.getQuantity());
             product.setName(updatedProduct.getName());
             product.setCropType(updatedProduct.getCropType());
             product.setImageUrl(updatedProduct.getImageUrl());
@@ -38,12 +115,27 @@ public class ProductService {
             product.setQuantity(updatedProduct.getQuantity());
             product.setPrice(updatedProduct.getPrice());
             product.setAdditionalInfo(updatedProduct.getAdditionalInfo());
-            return productRepository.save(product);
+            Product saved = productRepository.save(product);
+            orderMatchingService.onListingChanged(saved);
+            if (priceOrQuantityChanged) {
+                productUpdateStream.publish(saved);
+            }
+            return saved;
         }).orElseThrow(() -> new RuntimeException("Product not found with id " + id));
     }
 
     // Delete product by ID
     public void deleteProduct(Long id) {
+        requireNoOpenAuction(id);
         productRepository.deleteById(id);
+        orderMatchingService.onListingRemoved(id);
+    }
+
+    // An auctioned lot is sold as it stood when the auction opened, so it can't be edited,
+    // removed or re-listed until the auction settles
+    private void requireNoOpenAuction(Long id) {
+        if (auctionRepository.existsByProductIdAndStatus(id, Auction.Status.OPEN)) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Product is under an open auction");
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,195 @@
+// ProductUpdateStream.java
+package com.farmchainx.farmchainx.service;
+
+import com.farmchainx.farmchainx.model.Product;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+
+// Server-sent price/quantity updates for watched products or crop types. Each subscriber keeps only
+// the latest pending update per product and has at most one flush queued, so a burst of changes
+// becomes a single event and thousands of idle watchers cost nothing between writes. Flushes run on
+// virtual threads, so a client that stops reading blocks only its own writer, and a subscriber whose
+// send has been stuck past the send timeout is dropped when its next update arrives.
+@Service
+public class ProductUpdateStream {
+
+    public record Update(Long productId, String cropType, Double price, Integer quantity, LocalDateTime at) {
+    }
+
+    private final int maxPendingPerSubscriber;
+    private final long sendTimeoutNanos;
+    private final Map<Long, Set<Subscriber>> byProduct = new ConcurrentHashMap<>();
+    private final Map<String, Set<Subscriber>> byCrop = new ConcurrentHashMap<>();
+    private final ExecutorService notifier = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("product-stream-notifier-", 0).factory());
+
+    public ProductUpdateStream(@Value("${products.stream.max-pending:256}") int maxPendingPerSubscriber,
+                               @Value("${products.stream.send-timeout-ms:5000}") long sendTimeoutMs) {
+        this.maxPendingPerSubscriber = maxPendingPerSubscriber;
+        this.sendTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(sendTimeoutMs);
+    }
+
+    public SseEmitter subscribe(Collection<Long> productIds, Collection<String> cropTypes) {
+        if (productIds.isEmpty() && cropTypes.isEmpty()) {
+            throw new RuntimeException("Subscribe to at least one product id or crop type");
+        }
+        SseEmitter emitter = new SseEmitter(0L);
+        Subscriber subscriber = new Subscriber(emitter, Set.copyOf(productIds),
+                cropTypes.stream().map(ProductUpdateStream::cropKey).collect(Collectors.toSet()));
+
+        subscriber.productIds.forEach(id -> byProduct.computeIfAbsent(id, k -> ConcurrentHashMap.newKeySet()).add(subscriber));
+        subscriber.cropTypes.forEach(crop -> byCrop.computeIfAbsent(crop, k -> ConcurrentHashMap.newKeySet()).add(subscriber));
+        emitter.onCompletion(() -> unsubscribe(subscriber));
+        emitter.onTimeout(() -> unsubscribe(subscriber));
+        emitter.onError(e -> unsubscribe(subscriber));
+
+        send(subscriber, "subscribed", Map.of("productIds", subscriber.productIds, "cropTypes", subscriber.cropTypes));
+        return emitter;
+    }
+
+    // Called after a product's price or quantity changed; waits for the surrounding commit, if any
+    public void publish(Product product) {
+        Update update = new Update(product.getId(), product.getCropType(), product.getPrice(),
+                product.getQuantity(), LocalDateTime.now());
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    dispatch(update);
+                }
+            });
+        } else {
+            dispatch(update);
+        }
+    }
+
+    private void dispatch(Update update) {
+        Set<Subscriber> forProduct = byProduct.getOrDefault(update.productId(), Set.of());
+        Set<Subscriber> forCrop = update.cropType() != null
+                ? byCrop.getOrDefault(cropKey(update.cropType()), Set.of()) : Set.of();
+        for (Subscriber subscriber : forProduct) {
+            offer(subscriber, update);
+        }
+        for (Subscriber subscriber : forCrop) {
+            if (!forProduct.contains(subscriber)) {
+                offer(subscriber, update);
+            }
+        }
+    }
+
+    private void offer(Subscriber subscriber, Update update) {
+        long sendStarted = subscriber.sendStarted;
+        if (sendStarted != 0 && System.nanoTime() - sendStarted > sendTimeoutNanos) {
+            // Not reading: stop queueing for it; its stuck writer ends when the socket times out
+            subscriber.emitter.completeWithError(new TimeoutException("Subscriber stopped reading"));
+            unsubscribe(subscriber);
+            return;
+        }
+        subscriber.offer(update, maxPendingPerSubscriber);
+        if (subscriber.flushScheduled.compareAndSet(false, true)) {
+            notifier.execute(() -> flush(subscriber));
+        }
+    }
+
+    private void flush(Subscriber subscriber) {
+        // A flush may still be sending; this keeps events in order, and since flushScheduled stays
+        // set while we wait, at most one more flush per subscriber can queue up behind it
+        subscriber.sendLock.lock();
+        try {
+            subscriber.flushScheduled.set(false); // updates after this point schedule a fresh flush
+            Subscriber.Drained drained = subscriber.drain();
+            if (drained.overflowed()) {
+                send(subscriber, "resync", Map.of("reason", "too many pending updates"));
+            }
+            if (!drained.updates().isEmpty()) {
+                send(subscriber, "updates", drained.updates());
+            }
+        } finally {
+            subscriber.sendLock.unlock();
+        }
+    }
+
+    private void send(Subscriber subscriber, String event, Object data) {
+        subscriber.sendStarted = System.nanoTime();
+        try {
+            subscriber.emitter.send(SseEmitter.event().name(event).data(data));
+        } catch (IOException | IllegalStateException e) {
+            subscriber.emitter.completeWithError(e);
+            unsubscribe(subscriber);
+        } finally {
+            subscriber.sendStarted = 0;
+        }
+    }
+
+    private void unsubscribe(Subscriber subscriber) {
+        subscriber.productIds.forEach(id -> byProduct.computeIfPresent(id, (k, set) -> {
+            set.remove(subscriber);
+            return set.isEmpty() ? null : set;
+        }));
+        subscriber.cropTypes.forEach(crop -> byCrop.computeIfPresent(crop, (k, set) -> {
+            set.remove(subscriber);
+            return set.isEmpty() ? null : set;
+        }));
+    }
+
+    private static String cropKey(String cropType) {
+        return cropType.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static final class Subscriber {
+
+        record Drained(List<Update> updates, boolean overflowed) {
+        }
+
+        final SseEmitter emitter;
+        final Set<Long> productIds;
+        final Set<String> cropTypes;
+        final AtomicBoolean flushScheduled = new AtomicBoolean();
+        // Held across the blocking send, so a lock rather than a monitor (no virtual-thread pinning)
+        final ReentrantLock sendLock = new ReentrantLock();
+        // System.nanoTime() when the current send began, 0 while idle
+        volatile long sendStarted;
+        // Latest update per product, oldest first; bounded so a stalled client cannot grow it
+        private LinkedHashMap<Long, Update> pending = new LinkedHashMap<>();
+        private boolean overflowed;
+
+        Subscriber(SseEmitter emitter, Set<Long> productIds, Set<String> cropTypes) {
+            this.emitter = emitter;
+            this.productIds = productIds;
+            this.cropTypes = cropTypes;
+        }
+
+        synchronized void offer(Update update, int maxPending) {
+            pending.put(update.productId(), update);
+            if (pending.size() > maxPending) {
+                // Too far behind to be worth replaying: drop everything and ask the client to refetch
+                pending.clear();
+                overflowed = true;
+            }
+        }
+
+        synchronized Drained drain() {
+            Drained drained = new Drained(new ArrayList<>(pending.values()), overflowed);
+            pending = new LinkedHashMap<>();
+            overflowed = false;
+            return drained;
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        notifier.shutdown();
+    }
+}
@@ -0,0 +1,97 @@
+// RatedProductsIndex.java
+package com.farmchainx.farmchainx.service;
+
+import com.farmchainx.farmchainx.repository.RatingRepository;
+import org.roaringbitmap.longlong.Roaring64Bitmap;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Per-user compressed bitmap of the product ids a user has rated. A user's bitmap is loaded
+// with one query the first time they are looked up; after that "has rated?" checks are answered
+// from memory. Bitmaps are copy-on-write: readers never lock, writers publish a modified copy.
+@Service
+public class RatedProductsIndex {
+
+    private final RatingRepository ratingRepository;
+    private final int maxUsers;
+    private final Map<Long, Roaring64Bitmap> bitmaps = new ConcurrentHashMap<>();
+
+    public RatedProductsIndex(RatingRepository ratingRepository,
+                              @Value("${ratings.rated-index.max-users:100000}") int maxUsers) {
+        this.ratingRepository = ratingRepository;
+        this.maxUsers = maxUsers;
+    }
+
+    public boolean hasRated(Long userId, Long productId) {
+        return bitmapFor(userId).contains(productId);
+    }
+
+    // Which of the given products the user has rated, in the order they were asked for
+    public List<Long> ratedAmong(Long userId, Collection<Long> productIds) {
+        Roaring64Bitmap rated = bitmapFor(userId);
+        List<Long> result = new ArrayList<>();
+        for (Long productId : productIds) {
+            if (productId != null && rated.contains(productId)) {
+                result.add(productId);
+            }
+        }
+        return result;
+    }
+
+    // Both updates wait for the rating's transaction to commit: applied earlier, a concurrent lookup
+    // could reload the bitmap from the not-yet-committed rows, or a rollback leave a rating behind
+    public void onRated(Long userId, Long productId) {
+        // Only update users already in memory; anyone else is loaded fresh on first lookup
+        afterCommit(() -> bitmaps.computeIfPresent(userId, (id, current) -> {
+            Roaring64Bitmap updated = current.clone();
+            updated.addLong(productId);
+            return updated;
+        }));
+    }
+
+    // A user may have rated a product more than once, so a delete reloads rather than clearing the bit
+    public void onRatingDeleted(Long userId) {
+        afterCommit(() -> bitmaps.remove(userId));
+    }
+
+    private static void afterCommit(Runnable update) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    update.run();
+                }
+            });
+        } else {
+            update.run();
+        }
+    }
+
+    private Roaring64Bitmap bitmapFor(Long userId) {
+        Roaring64Bitmap bitmap = bitmaps.get(userId);
+        if (bitmap != null) {
+            return bitmap;
+        }
+        if (bitmaps.size() >= maxUsers) {
+            bitmaps.clear(); // crude bound: everyone reloads lazily
+        }
+        return bitmaps.computeIfAbsent(userId, this::load);
+    }
+
+    private Roaring64Bitmap load(Long userId) {
+        Roaring64Bitmap bitmap = new Roaring64Bitmap();
+        for (Long productId : ratingRepository.findRatedProductIdsByUserId(userId)) {
+            bitmap.addLong(productId);
+        }
+        bitmap.runOptimize();
+        return bitmap;
+    }
+}
@@ -2,12 +2,21 @@
 package com.farmchainx.farmchainx.service;
 
 import com.farmchainx.farmchainx.model.Rating;
+import com.farmchainx.farmchainx.model.RatingSummary;
+import com.farmchainx.farmchainx.model.RatingView;
 import com.farmchainx.farmchainx.model.User;
 import com.farmchainx.farmchainx.repository.RatingRepository;
 import com.farmchainx.farmchainx.repository.ProductRepository;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @Service
@@ -15,13 +24,18 @@ public class RatingService {
 
     private final RatingRepository ratingRepository;
     private final ProductRepository productRepository;
+    private final RatedProductsIndex ratedProductsIndex;
 
-    public RatingService(RatingRepository ratingRepository, ProductRepository productRepository) {
+    public RatingService(RatingRepository ratingRepository, ProductRepository productRepository,
+                         RatedProductsIndex ratedProductsIndex) {
         this.ratingRepository = ratingRepository;
         this.productRepository = productRepository;
+        this.ratedProductsIndex = ratedProductsIndex;
     }
 
-    // Add this exact method to fix the error
+    // Add this exact method to fix the error. Transactional so the average is recomputed from the
+    // primary, in the same transaction as the new rating
+    @Transactional
     public Rating addRating(Long productId, Rating rating, User user) {
         // Set the product and user for the rating
         rating.setProduct(productRepository.findById(productId)
@@ -30,6 +44,7 @@ public class RatingService {
 
         // Save the rating
         Rating savedRating = ratingRepository.save(rating);
+        ratedProductsIndex.onRated(user.getId(), productId);
 
         // Update product's average rating
         updateProductAverageRating(productId);
@@ -39,36 +54,108 @@ public class RatingService {
 
     // Method to update product's average rating
     private void updateProductAverageRating(Long productId) {
+        FlightEvents.RatingRecompute event = new FlightEvents.RatingRecompute();
+        event.begin();
         List<Rating> ratings = ratingRepository.findByProductId(productId);
+        double average = 0.0;
 
         if (!ratings.isEmpty()) {
-            double average = ratings.stream()
+            average = ratings.stream()
                     .mapToInt(Rating::getStars)
                     .average()
                     .orElse(0.0);
 
             // Update the product's average rating
+            double rounded = Math.round(average * 10.0) / 10.0; // Round to 1 decimal
             productRepository.findById(productId).ifPresent(product -> {
-                product.setAverageRating(Math.round(average * 10.0) / 10.0); // Round to 1 decimal
+                product.setAverageRating(rounded);
                 productRepository.save(product);
             });
         }
+
+        if (event.shouldCommit()) {
+            event.productId = productId;
+            event.ratings = ratings.size();
+            event.average = average;
+            event.commit();
+        }
     }
 
-    public List<Rating> getRatingsByProductId(Long productId) {
-        return ratingRepository.findByProductId(productId);
+    // One page of a product's ratings, newest first; pass the previous page's cursor to continue
+    public List<RatingView> getRatingViewsByProductId(Long productId, String cursor, int limit) {
+        if (cursor == null || cursor.isBlank()) {
+            return ratingRepository.findViewsByProductId(productId, Limit.of(limit));
+        }
+        RatingView position = parseCursor(cursor);
+        return ratingRepository.findViewsByProductIdBefore(productId, position.getCreatedAt(), position.getId(), Limit.of(limit));
+    }
+
+    public List<RatingView> getRatingViews(String cursor, int limit) {
+        if (cursor == null || cursor.isBlank()) {
+            return ratingRepository.findViews(Limit.of(limit));
+        }
+        RatingView position = parseCursor(cursor);
+        return ratingRepository.findViewsBefore(position.getCreatedAt(), position.getId(), Limit.of(limit));
+    }
+
+    public List<RatingView> getRatingViewsByIds(Collection<Long> ids) {
+        return ids.isEmpty() ? List.of() : ratingRepository.findViewsByIds(ids);
+    }
+
+    // Count/average/histogram for each requested product from one grouped IN query;
+    // products without ratings get an empty summary
+    public Map<Long, RatingSummary> getRatingSummaries(Collection<Long> productIds) {
+        Map<Long, RatingSummary> summaries = new LinkedHashMap<>();
+        for (Long productId : productIds) {
+            summaries.putIfAbsent(productId, new RatingSummary(productId));
+        }
+        if (summaries.isEmpty()) {
+            return summaries;
+        }
+        for (RatingRepository.StarCount row : ratingRepository.countStarsByProductIds(summaries.keySet())) {
+            if (row.getStars() != null) {
+                summaries.get(row.getProductId()).add(row.getStars(), row.getRatings());
+            }
+        }
+        return summaries;
+    }
+
+    // Cursor for the page after this one, or null when this was the last page
+    public static String nextCursor(List<RatingView> page, int limit) {
+        if (page.size() < limit) {
+            return null;
+        }
+        RatingView last = page.get(page.size() - 1);
+        return last.getCreatedAt() + "_" + last.getId();
+    }
+
+    public RatingView toView(Rating rating) {
+        return new RatingView(rating.getId(), rating.getStars(), rating.getComment(), rating.getCreatedAt(),
+                rating.getUser() != null ? rating.getUser().getName() : null,
+                rating.getProduct().getId(), rating.getProduct().getName());
+    }
+
+    private static RatingView parseCursor(String cursor) {
+        try {
+            int separator = cursor.lastIndexOf('_');
+            RatingView position = new RatingView();
+            position.setCreatedAt(LocalDateTime.parse(cursor.substring(0, separator)));
+            position.setId(Long.parseLong(cursor.substring(separator + 1)));
+            return position;
+        } catch (DateTimeParseException | IndexOutOfBoundsException | NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
     }
 
     public Rating saveRating(Rating rating) {
         return ratingRepository.save(rating);
     }
 
+    @Transactional
     public void deleteRating(Long id) {
+        Optional<Rating> rating = ratingRepository.findById(id);
         ratingRepository.deleteById(id);
-    }
-
-    public List<Rating> getAllRatings() {
-        return ratingRepository.findAllByOrderByCreatedAtDesc();
+        rating.map(Rating::getUser).ifPresent(user -> ratedProductsIndex.onRatingDeleted(user.getId()));
     }
 
     // Additional useful methods
@@ -76,7 +163,13 @@ public class RatingService {
         return ratingRepository.findById(id);
     }
 
+    // Answered from the user's rated-products bitmap, no query once it is loaded
     public boolean hasUserRatedProduct(Long productId, Long userId) {
-        return ratingRepository.findByProductIdAndUserId(productId, userId).isPresent();
+        return ratedProductsIndex.hasRated(userId, productId);
+    }
+
+    // Which of the given products the user has rated
+    public List<Long> getRatedProductIds(Long userId, List<Long> productIds) {
+        return ratedProductsIndex.ratedAmong(userId, productIds);
     }
 }
\ No newline at end of file
@@ -0,0 +1,65 @@
+// SyncService.java
+package com.farmchainx.farmchainx.service;
+
+import com.farmchainx.farmchainx.model.Product;
+import com.farmchainx.farmchainx.model.RatingView;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.*;
+
+// Turns a page of the change log into current rows plus tombstones, so an offline-capable client
+// only downloads what changed since its last sync
+@Service
+public class SyncService {
+
+    private final ChangeLog changeLog;
+    private final ProductService productService;
+    private final RatingService ratingService;
+
+    public SyncService(ChangeLog changeLog, ProductService productService, RatingService ratingService) {
+        this.changeLog = changeLog;
+        this.productService = productService;
+        this.ratingService = ratingService;
+    }
+
+    // Read-write on purpose: the read-only lookups below join this transaction and so read the
+    // primary. On a lagging replica a just-logged row would look deleted, and once next moves
+    // past it the client would never see it again.
+    @Transactional
+    public Map<String, Object> changesSince(long since, int limit) {
+        ChangeLog.Page page = changeLog.since(since, limit);
+
+        Set<Long> productIds = new LinkedHashSet<>();
+        Set<Long> ratingIds = new LinkedHashSet<>();
+        Set<Long> deletedProducts = new LinkedHashSet<>();
+        Set<Long> deletedRatings = new LinkedHashSet<>();
+        for (ChangeLog.Change change : page.changes()) {
+            boolean product = change.type() == ChangeLog.Type.PRODUCT;
+            if (change.op() == ChangeLog.Op.DELETE) {
+                (product ? deletedProducts : deletedRatings).add(change.id());
+            } else {
+                (product ? productIds : ratingIds).add(change.id());
+            }
+        }
+
+        // Rows are read as they are now; one removed since it was logged becomes a tombstone
+        List<Product> products = productService.getProductsByIds(productIds);
+        products.forEach(p -> productIds.remove(p.getId()));
+        deletedProducts.addAll(productIds);
+
+        List<RatingView> ratings = ratingService.getRatingViewsByIds(ratingIds);
+        ratings.forEach(r -> ratingIds.remove(r.getId()));
+        deletedRatings.addAll(ratingIds);
+
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("since", since);
+        response.put("next", page.next());
+        response.put("reset", page.reset());
+        response.put("hasMore", page.hasMore());
+        response.put("products", products);
+        response.put("ratings", ratings);
+        response.put("deleted", Map.of("products", deletedProducts, "ratings", deletedRatings));
+        return response;
+    }
+}
@@ -0,0 +1,30 @@
+// UserChangeListener.java
+package com.farmchainx.farmchainx.service;
+
+import com.farmchainx.farmchainx.model.User;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+// JPA callbacks for User, so every registration path (AuthController, AuthService, the demo
+// accounts) reaches the in-memory UserCounters
+@Component
+public class UserChangeListener {
+
+    private final UserCounters userCounters;
+
+    public UserChangeListener(@Lazy UserCounters userCounters) {
+        this.userCounters = userCounters;
+    }
+
+    @PostPersist
+    public void onSave(User user) {
+        userCounters.onRegistered(user);
+    }
+
+    @PostRemove
+    public void onRemove(User user) {
+        userCounters.onRemoved(user);
+    }
+}
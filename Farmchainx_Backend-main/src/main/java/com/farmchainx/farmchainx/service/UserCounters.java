@@ -0,0 +1,193 @@
+// UserCounters.java
+package com.farmchainx.farmchainx.service;
+
+import com.farmchainx.farmchainx.model.User;
+import com.farmchainx.farmchainx.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+// In-memory user totals per role plus registrations per day for the last two growth windows, so
+// the admin dashboards count users without SQL. Seeded with one GROUP BY once the application is
+// ready (the demo and bulk seeders have run by then, and the bulk one bypasses JPA) and kept
+// current by UserChangeListener. Roles are fixed at registration, so updates need no diffing.
+@Component
+public class UserCounters {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserCounters.class);
+
+    // Growth compares registrations in the last WINDOW_DAYS days with the WINDOW_DAYS before that
+    static final int WINDOW_DAYS = 30;
+    private static final int BUCKETS = 2 * WINDOW_DAYS;
+
+    private final UserRepository userRepository;
+    private final Clock clock;
+    // Not synchronized: the seed holds the lock across a query, which would pin a virtual thread
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private long total;
+    private final long[] roleTotals = new long[User.Role.values().length];
+    // Ring of daily registration counts, slot = epoch day % BUCKETS; bucketDay records which day a
+    // slot currently holds, so a slot left over from an older day reads as zero
+    private final long[] registrations = new long[BUCKETS];
+    private final long[] bucketDay = new long[BUCKETS];
+    private boolean seeded;
+    // Highest user id the seed query counted. A registration that committed before the query can
+    // still deliver its afterCommit once the seed is done; ids at or below the mark are skipped so
+    // it is not counted twice. Ids are assigned at insert, so a registration still uncommitted when
+    // the seed ran but holding a lower id than a committed one is missed; registrations are short
+    // transactions, so that window is tiny
+    private long seededMaxId;
+
+    @Autowired
+    public UserCounters(UserRepository userRepository) {
+        this(userRepository, Clock.systemDefaultZone());
+    }
+
+    UserCounters(UserRepository userRepository, Clock clock) {
+        this.userRepository = userRepository;
+        this.clock = clock;
+    }
+
+    // Rebuilds everything from the database
+    @EventListener(ApplicationReadyEvent.class)
+    public void seed() {
+        lock.lock();
+        try {
+            total = 0;
+            Arrays.fill(roleTotals, 0);
+            Arrays.fill(registrations, 0);
+            Arrays.fill(bucketDay, 0);
+            seededMaxId = 0;
+            for (UserRepository.RoleDayCount row : userRepository.countByRoleAndDay()) {
+                add(row.getRole(), row.getDay(), row.getUsers());
+                if (row.getMaxId() != null) {
+                    seededMaxId = Math.max(seededMaxId, row.getMaxId());
+                }
+            }
+            seeded = true;
+            logger.info("User counters seeded: {} users", total);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Called from the JPA callbacks; waits for the surrounding commit, if any, so a rolled-back
+    // registration is never counted
+    public void onRegistered(User user) {
+        afterCommit(() -> apply(user, 1));
+    }
+
+    public void onRemoved(User user) {
+        afterCommit(() -> apply(user, -1));
+    }
+
+    public Snapshot snapshot() {
+        lock.lock();
+        try {
+            if (!seeded) {
+                seed();
+            }
+            Map<User.Role, Long> byRole = new EnumMap<>(User.Role.class);
+            for (User.Role role : User.Role.values()) {
+                byRole.put(role, roleTotals[role.ordinal()]);
+            }
+            long today = LocalDate.now(clock).toEpochDay();
+            return new Snapshot(total, byRole,
+                    registrationsBetween(today - WINDOW_DAYS + 1, today),
+                    registrationsBetween(today - BUCKETS + 1, today - WINDOW_DAYS));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static void afterCommit(Runnable update) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    update.run();
+                }
+            });
+        } else {
+            update.run();
+        }
+    }
+
+    private void apply(User user, long delta) {
+        lock.lock();
+        try {
+            // Before the seed, the seed query will count this user itself; after it, a registration the
+            // query already counted is skipped
+            boolean countedBySeed = delta > 0 && user.getId() != null && user.getId() <= seededMaxId;
+            if (seeded && !countedBySeed) {
+                LocalDateTime createdAt = user.getCreatedAt();
+                add(user.getRole(), createdAt != null ? createdAt.toLocalDate() : null, delta);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void add(User.Role role, LocalDate day, long users) {
+        total += users;
+        if (role != null) {
+            roleTotals[role.ordinal()] += users;
+        }
+        if (day == null) {
+            return;
+        }
+        long epochDay = day.toEpochDay();
+        long today = LocalDate.now(clock).toEpochDay();
+        if (epochDay > today || epochDay <= today - BUCKETS) {
+            return;
+        }
+        int slot = (int) Math.floorMod(epochDay, BUCKETS);
+        if (bucketDay[slot] != epochDay) {
+            bucketDay[slot] = epochDay;
+            registrations[slot] = 0;
+        }
+        registrations[slot] += users;
+    }
+
+    private long registrationsBetween(long fromDay, long toDay) {
+        long sum = 0;
+        for (long day = fromDay; day <= toDay; day++) {
+            int slot = (int) Math.floorMod(day, BUCKETS);
+            if (bucketDay[slot] == day) {
+                sum += registrations[slot];
+            }
+        }
+        return sum;
+    }
+
+    public record Snapshot(long total, Map<User.Role, Long> byRole, long registeredLastWindow,
+                           long registeredPreviousWindow) {
+
+        public long count(User.Role role) {
+            return byRole.get(role);
+        }
+
+        // Percentage change in registrations, window over window, to one decimal
+        public double growth() {
+            if (registeredPreviousWindow == 0) {
+                return registeredLastWindow > 0 ? 100.0 : 0.0;
+            }
+            double change = 100.0 * (registeredLastWindow - registeredPreviousWindow) / registeredPreviousWindow;
+            return Math.round(change * 10) / 10.0;
+        }
+    }
+}
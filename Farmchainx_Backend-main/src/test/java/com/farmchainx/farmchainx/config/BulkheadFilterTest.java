@@ -0,0 +1,57 @@
+package com.farmchainx.farmchainx.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BulkheadFilterTest {
+
+    @Test
+    void routesPathsToTheirGroup() {
+        assertEquals(BulkheadFilter.Group.AUTH, BulkheadFilter.Group.of("/api/auth/login"));
+        assertEquals(BulkheadFilter.Group.ADMIN, BulkheadFilter.Group.of("/api/admin"));
+        assertEquals(BulkheadFilter.Group.ADMIN, BulkheadFilter.Group.of("/api/admin/cache/stats"));
+        assertEquals(BulkheadFilter.Group.CATALOG, BulkheadFilter.Group.of("/api/products"));
+        assertEquals(BulkheadFilter.Group.CATALOG, BulkheadFilter.Group.of("/api/products/42"));
+        assertEquals(BulkheadFilter.Group.CATALOG, BulkheadFilter.Group.of("/uploads/wheat.png"));
+        assertNull(BulkheadFilter.Group.of("/api/orders"));
+        assertNull(BulkheadFilter.Group.of("/actuator/health"));
+        assertNull(BulkheadFilter.Group.of("/api/administrators"));
+    }
+
+    @Test
+    void ratingsUnderProductsHaveTheirOwnGroup() {
+        assertEquals(BulkheadFilter.Group.RATINGS, BulkheadFilter.Group.of("/api/products/42/ratings"));
+        assertEquals(BulkheadFilter.Group.RATINGS, BulkheadFilter.Group.of("/api/products/42/ratings/mine"));
+        assertEquals(BulkheadFilter.Group.RATINGS, BulkheadFilter.Group.of("/api/products/ratings"));
+        assertEquals(BulkheadFilter.Group.RATINGS, BulkheadFilter.Group.of("/api/products/ratings/summary"));
+        assertEquals(BulkheadFilter.Group.CATALOG, BulkheadFilter.Group.of("/api/products/my-products"));
+        assertEquals(BulkheadFilter.Group.CATALOG, BulkheadFilter.Group.of("/api/products/ratingsboard"));
+    }
+
+    @Test
+    void interruptedWhileQueueingIsAnsweredLikeARejection() throws Exception {
+        BulkheadFilter filter = new BulkheadFilter(new MockEnvironment(), new SimpleMeterRegistry());
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+
+        Thread.currentThread().interrupt();
+        try {
+            filter.doFilter(new MockHttpServletRequest("GET", "/api/products"), response, chain);
+        } finally {
+            assertTrue(Thread.interrupted());
+        }
+
+        assertEquals(503, response.getStatus());
+        assertEquals("1", response.getHeader(HttpHeaders.RETRY_AFTER));
+        assertNull(chain.getRequest());
+    }
+}
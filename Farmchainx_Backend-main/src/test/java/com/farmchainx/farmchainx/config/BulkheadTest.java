@@ -0,0 +1,79 @@
+package com.farmchainx.farmchainx.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BulkheadTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void admitsUpToTheLimitWithoutWaiting() throws InterruptedException {
+        Bulkhead bulkhead = new Bulkhead("test", 2, Duration.ofSeconds(5), meterRegistry);
+
+        assertTrue(bulkhead.tryEnter());
+        assertTrue(bulkhead.tryEnter());
+        assertEquals(2, bulkhead.active());
+
+        bulkhead.exit();
+        bulkhead.exit();
+        assertEquals(0, bulkhead.active());
+    }
+
+    @Test
+    void rejectsOnceTheWaitRunsOut() throws InterruptedException {
+        Bulkhead bulkhead = new Bulkhead("test", 1, Duration.ofMillis(50), meterRegistry);
+        assertTrue(bulkhead.tryEnter());
+
+        long start = System.nanoTime();
+        assertFalse(bulkhead.tryEnter());
+
+        assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(50));
+        assertEquals(1.0, meterRegistry.get("bulkhead.rejected").tag("group", "test").counter().count());
+        assertEquals(1, bulkhead.active());
+    }
+
+    @Test
+    void queuedCallersEnterInArrivalOrder() throws Exception {
+        Bulkhead bulkhead = new Bulkhead("test", 1, Duration.ofSeconds(10), meterRegistry);
+        assertTrue(bulkhead.tryEnter());
+
+        List<String> entered = new CopyOnWriteArrayList<>();
+        CompletableFuture<?> first = queue(bulkhead, "first", entered, 1);
+        CompletableFuture<?> second = queue(bulkhead, "second", entered, 2);
+
+        bulkhead.exit();
+        CompletableFuture.allOf(first, second).get(10, TimeUnit.SECONDS);
+
+        assertEquals(List.of("first", "second"), entered);
+    }
+
+    // Enters on another thread, recording its name and leaving at once, after waiting until it is
+    // the position-th caller queued
+    private CompletableFuture<?> queue(Bulkhead bulkhead, String name, List<String> entered, int position)
+            throws InterruptedException {
+        CompletableFuture<?> done = CompletableFuture.runAsync(() -> {
+            try {
+                assertTrue(bulkhead.tryEnter());
+                entered.add(name);
+                bulkhead.exit();
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        while (meterRegistry.get("bulkhead.waiting").tag("group", "test").gauge().value() < position) {
+            Thread.sleep(5);
+        }
+        return done;
+    }
+}
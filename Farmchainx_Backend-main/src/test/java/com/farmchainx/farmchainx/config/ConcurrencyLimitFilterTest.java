@@ -0,0 +1,85 @@
+package com.farmchainx.farmchainx.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ConcurrencyLimitFilterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final GradientConcurrencyLimit limit = new GradientConcurrencyLimit(10, 4, 200, 0.2, 1.5);
+    private final ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter(limit, 3, meterRegistry);
+
+    @Test
+    void classifiesRequests() {
+        assertEquals(ConcurrencyLimitFilter.Priority.CRITICAL, priority("POST", "/api/auth/login"));
+        assertEquals(ConcurrencyLimitFilter.Priority.CRITICAL, priority("POST", "/api/auth/register"));
+        assertEquals(ConcurrencyLimitFilter.Priority.CRITICAL, priority("POST", "/api/orders/bids"));
+        assertEquals(ConcurrencyLimitFilter.Priority.CRITICAL, priority("DELETE", "/api/orders/bids/5"));
+        assertEquals(ConcurrencyLimitFilter.Priority.CRITICAL, priority("POST", "/api/auctions/9/bids"));
+        assertEquals(ConcurrencyLimitFilter.Priority.NORMAL, priority("GET", "/api/auctions/9/bids"));
+        assertEquals(ConcurrencyLimitFilter.Priority.NORMAL, priority("GET", "/api/auth/login"));
+        assertEquals(ConcurrencyLimitFilter.Priority.NORMAL, priority("GET", "/api/products"));
+        assertEquals(ConcurrencyLimitFilter.Priority.SHEDDABLE, priority("GET", "/api/admin/cache/stats"));
+        assertEquals(ConcurrencyLimitFilter.Priority.SHEDDABLE, priority("GET", "/api/sync/changes"));
+        assertNull(priority("GET", "/actuator/health"));
+        assertNull(priority("GET", "/h2-console/login.jsp"));
+    }
+
+    @Test
+    void lowerPrioritiesAreShedFirst() throws Exception {
+        // Half the limit of 10 in use: sheddable traffic is at its share, the rest still gets in
+        holdSlots(5);
+        assertShed("GET", "/api/admin/cache/stats");
+        assertAdmitted("GET", "/api/products");
+
+        // Nine in use: only critical traffic is left
+        holdSlots(4);
+        assertShed("GET", "/api/products");
+        assertAdmitted("POST", "/api/auth/login");
+
+        holdSlots(1);
+        assertShed("POST", "/api/auth/login");
+        assertAdmitted("GET", "/actuator/health");
+
+        assertEquals(1.0, meterRegistry.get("http.server.concurrency.rejected").tag("priority", "sheddable").counter().count());
+        assertEquals(1.0, meterRegistry.get("http.server.concurrency.rejected").tag("priority", "critical").counter().count());
+    }
+
+    private void holdSlots(int slots) {
+        for (int i = 0; i < slots; i++) {
+            assertTrue(limit.tryAcquire(1.0));
+        }
+    }
+
+    private void assertShed(String method, String uri) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+        filter.doFilter(new MockHttpServletRequest(method, uri), response, chain);
+        assertEquals(503, response.getStatus(), method + " " + uri);
+        assertEquals("3", response.getHeader(HttpHeaders.RETRY_AFTER));
+        assertNull(chain.getRequest());
+    }
+
+    private void assertAdmitted(String method, String uri) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+        int inFlight = limit.inFlight();
+        filter.doFilter(new MockHttpServletRequest(method, uri), response, chain);
+        assertEquals(200, response.getStatus(), method + " " + uri);
+        assertNotNull(chain.getRequest());
+        assertEquals(inFlight, limit.inFlight());
+    }
+
+    private static ConcurrencyLimitFilter.Priority priority(String method, String uri) {
+        return ConcurrencyLimitFilter.Priority.of(new MockHttpServletRequest(method, uri));
+    }
+}
@@ -0,0 +1,100 @@
+package com.farmchainx.farmchainx.config;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GradientConcurrencyLimitTest {
+
+    private final GradientConcurrencyLimit limit = new GradientConcurrencyLimit(20, 4, 200, 0.2, 1.5);
+
+    @Test
+    void growsWhileLatencyStaysFlat() {
+        int previous = limit.limit();
+        for (int i = 0; i < 30; i++) {
+            sampleAtLimit(10);
+            assertTrue(limit.limit() >= previous);
+            previous = limit.limit();
+        }
+        assertTrue(limit.limit() > 40, "limit " + limit.limit());
+
+        for (int i = 0; i < 200; i++) {
+            sampleAtLimit(10);
+        }
+        assertEquals(200, limit.limit());
+    }
+
+    @Test
+    void shrinksAsLatencyRisesAndRecoversWhenItSettles() {
+        for (int i = 0; i < 50; i++) {
+            sampleAtLimit(10);
+        }
+        int beforeQueueing = limit.limit();
+
+        // Requests start queueing: each one takes longer than the last
+        double rtt = 10;
+        for (int i = 0; i < 40; i++) {
+            rtt *= 1.1;
+            sampleAtLimit((long) rtt);
+        }
+        int whileQueueing = limit.limit();
+        assertTrue(whileQueueing < beforeQueueing / 2, beforeQueueing + " -> " + whileQueueing);
+        assertTrue(whileQueueing >= 4);
+
+        for (int i = 0; i < 100; i++) {
+            sampleAtLimit(10);
+        }
+        assertTrue(limit.limit() > 2 * whileQueueing, whileQueueing + " -> " + limit.limit());
+    }
+
+    @Test
+    void neverLeavesItsBounds() {
+        for (int i = 0; i < 200; i++) {
+            sampleAtLimit(10_000 * (i + 1));
+        }
+        assertEquals(4, limit.limit());
+    }
+
+    @Test
+    void ignoresLatencyUnderLightLoad() {
+        sampleWith(1, 10);
+        for (int i = 0; i < 50; i++) {
+            sampleWith(1, 10_000);
+        }
+        assertEquals(20, limit.limit());
+    }
+
+    @Test
+    void sharesReserveHeadroom() {
+        for (int i = 0; i < 10; i++) {
+            assertTrue(limit.tryAcquire(0.5));
+        }
+        assertFalse(limit.tryAcquire(0.5));
+        for (int i = 0; i < 10; i++) {
+            assertTrue(limit.tryAcquire(1.0));
+        }
+        assertFalse(limit.tryAcquire(1.0));
+        assertEquals(20, limit.inFlight());
+    }
+
+    // One request completing in rttMillis while the limit is fully used
+    private void sampleAtLimit(long rttMillis) {
+        sampleWith(Integer.MAX_VALUE, rttMillis);
+    }
+
+    // Admits up to concurrent requests, then completes them, sampling the first one
+    private void sampleWith(int concurrent, long rttMillis) {
+        int admitted = 0;
+        while (admitted < concurrent && limit.tryAcquire(1.0)) {
+            admitted++;
+        }
+        limit.release(TimeUnit.MILLISECONDS.toNanos(rttMillis), true);
+        for (int i = 1; i < admitted; i++) {
+            limit.release(0, false);
+        }
+    }
+}
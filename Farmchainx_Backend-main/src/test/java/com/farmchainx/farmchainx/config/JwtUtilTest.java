@@ -0,0 +1,68 @@
+package com.farmchainx.farmchainx.config;
+
+import com.farmchainx.farmchainx.service.FlightEvents;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JwtUtilTest {
+
+    private static final String SECRET = Base64.getEncoder().encodeToString(new byte[32]);
+
+    private final JwtUtil jwtUtil = new JwtUtil(SECRET, 60_000);
+    private final UserDetails farmer = User.withUsername("farmer@farmchainx.com").password("x").roles("FARMER").build();
+
+    @Test
+    void validatesTokensForTheirOwnSubjectOnly() {
+        String token = jwtUtil.generateToken("farmer@farmchainx.com");
+
+        assertEquals("farmer@farmchainx.com", jwtUtil.extractUsername(token));
+        assertTrue(jwtUtil.validateToken(token, farmer));
+        assertFalse(jwtUtil.validateToken(jwtUtil.generateToken("retailer@farmchainx.com"), farmer));
+        assertFalse(jwtUtil.validateToken(token + "x", farmer));
+    }
+
+    @Test
+    void expiredTokensAreRejected() {
+        String token = new JwtUtil(SECRET, -1_000).generateToken("farmer@farmchainx.com");
+
+        assertNull(jwtUtil.extractUsername(token));
+        assertFalse(jwtUtil.validateToken(token, farmer));
+    }
+
+    @Test
+    void eachCallRecordsOneVerificationEvent() throws Exception {
+        String token = jwtUtil.generateToken("farmer@farmchainx.com");
+        Path dump = Files.createTempFile("jwt", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(FlightEvents.TokenVerification.class).withThreshold(Duration.ZERO);
+            recording.start();
+            jwtUtil.validateToken(token, farmer);
+            jwtUtil.extractUsername(token);
+            recording.stop();
+            recording.dump(dump);
+
+            List<String> operations = RecordingFile.readAllEvents(dump).stream()
+                    .filter(event -> event.getEventType().getName().equals("farmchainx.TokenVerification"))
+                    .map(event -> event.getString("operation"))
+                    .toList();
+            assertEquals(List.of("validateToken", "extractUsername"), operations);
+        } finally {
+            Files.deleteIfExists(dump);
+        }
+    }
+}
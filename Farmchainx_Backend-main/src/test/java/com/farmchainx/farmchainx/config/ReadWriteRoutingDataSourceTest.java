@@ -0,0 +1,172 @@
+package com.farmchainx.farmchainx.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Clock;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Two in-memory H2 databases stand in for the primary and the replica. Each holds a row naming
+// itself, so a query shows which one served it. Replication is simulated by writing the replica's
+// heartbeat row directly.
+class ReadWriteRoutingDataSourceTest {
+
+    private static final Duration MAX_LAG = Duration.ofSeconds(5);
+
+    private DataSource primary;
+    private DataSource replica;
+    private JdbcTemplate replicaJdbc;
+
+    @BeforeEach
+    void createDatabases() {
+        primary = h2("routing_primary");
+        replica = h2("routing_replica");
+        replicaJdbc = new JdbcTemplate(replica);
+        for (DataSource dataSource : new DataSource[]{primary, replica}) {
+            JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+            jdbc.execute("DROP ALL OBJECTS");
+            jdbc.execute("CREATE TABLE source (name VARCHAR(16))");
+            jdbc.execute("CREATE TABLE " + ReplicaLagMonitor.TABLE + " (id INT PRIMARY KEY, beat_at BIGINT NOT NULL)");
+        }
+        new JdbcTemplate(primary).update("INSERT INTO source VALUES ('primary')");
+        replicaJdbc.update("INSERT INTO source VALUES ('replica')");
+    }
+
+    @Test
+    void freshReplicaServesReplicaReads() {
+        ReplicaLagMonitor monitor = monitor(replica);
+        replicate(System.currentTimeMillis());
+        monitor.check();
+
+        Routing routing = new Routing(monitor);
+        assertTrue(monitor.replicaUsable());
+        assertEquals("replica", routing.replicaRead());
+        assertEquals("primary", routing.read(false));
+        assertEquals("primary", routing.readWithoutTransaction());
+    }
+
+    @Test
+    void unmarkedReadOnlyTransactionsStayOnThePrimary() {
+        ReplicaLagMonitor monitor = monitor(replica);
+        replicate(System.currentTimeMillis());
+        monitor.check();
+
+        // Like the implicit read-only transaction of a Spring Data findById before a save
+        assertEquals("primary", new Routing(monitor).read(true));
+    }
+
+    @Test
+    void readOnlyWorkJoiningAReadWriteTransactionStaysOnThePrimary() {
+        ReplicaLagMonitor monitor = monitor(replica);
+        replicate(System.currentTimeMillis());
+        monitor.check();
+
+        // What SyncService.changesSince relies on: a readOnly method called from a read-write one
+        Routing routing = new Routing(monitor);
+        routing.transactions.setReadOnly(false);
+        assertEquals("primary", routing.transactions.execute(status -> routing.replicaRead()));
+    }
+
+    @Test
+    void laggingReplicaFallsBackToPrimary() {
+        ReplicaLagMonitor monitor = monitor(replica);
+        replicate(System.currentTimeMillis() - MAX_LAG.toMillis() - 1_000);
+        monitor.check();
+
+        assertFalse(monitor.replicaUsable());
+        assertEquals("primary", new Routing(monitor).replicaRead());
+    }
+
+    @Test
+    void replicaWithoutHeartbeatIsNotUsed() {
+        ReplicaLagMonitor monitor = monitor(replica);
+        monitor.check();
+
+        assertFalse(monitor.replicaUsable());
+        assertEquals("primary", new Routing(monitor).replicaRead());
+    }
+
+    @Test
+    void unreachableReplicaFallsBackToPrimary() {
+        // IFEXISTS refuses to create the database, so every connection attempt fails
+        DataSource unreachable = new DriverManagerDataSource("jdbc:h2:mem:routing_missing;IFEXISTS=TRUE", "sa", "");
+        ReplicaLagMonitor monitor = monitor(unreachable);
+        monitor.check();
+
+        assertFalse(monitor.replicaUsable());
+        assertEquals("primary", new Routing(monitor, unreachable).replicaRead());
+    }
+
+    @Test
+    void heartbeatIsWrittenToThePrimary() throws Exception {
+        ReplicaLagMonitor monitor = monitor(replica);
+        long before = System.currentTimeMillis();
+        monitor.beat();
+        monitor.beat();
+
+        Long beatAt = new JdbcTemplate(primary).queryForObject(
+                "SELECT beat_at FROM " + ReplicaLagMonitor.TABLE + " WHERE id = 1", Long.class);
+        assertTrue(beatAt >= before);
+    }
+
+    private ReplicaLagMonitor monitor(DataSource replicaDataSource) {
+        return new ReplicaLagMonitor(primary, replicaDataSource, MAX_LAG, Duration.ofSeconds(1), Duration.ofSeconds(30),
+                Clock.systemUTC(), new SimpleMeterRegistry());
+    }
+
+    private void replicate(long beatAt) {
+        replicaJdbc.update("MERGE INTO " + ReplicaLagMonitor.TABLE + " (id, beat_at) KEY (id) VALUES (1, ?)", beatAt);
+    }
+
+    private static DataSource h2(String name) {
+        return new DriverManagerDataSource("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1", "sa", "");
+    }
+
+    // The application's arrangement: routing behind a lazy proxy, driven by a transaction manager
+    private class Routing {
+        private final JdbcTemplate jdbc;
+        private final TransactionTemplate transactions;
+
+        Routing(ReplicaLagMonitor monitor) {
+            this(monitor, replica);
+        }
+
+        Routing(ReplicaLagMonitor monitor, DataSource replicaDataSource) {
+            DataSource dataSource = new LazyConnectionDataSourceProxy(
+                    new ReadWriteRoutingDataSource(primary, replicaDataSource, monitor, new SimpleMeterRegistry()));
+            this.jdbc = new JdbcTemplate(dataSource);
+            this.transactions = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        }
+
+        String read(boolean readOnly) {
+            TransactionTemplate template = new TransactionTemplate(transactions.getTransactionManager());
+            template.setReadOnly(readOnly);
+            return template.execute(status -> readWithoutTransaction());
+        }
+
+        // A read-only transaction opened the way ReplicaReadAspect opens one for a @ReplicaRead method
+        String replicaRead() {
+            boolean previous = ReadWriteRoutingDataSource.allowReplicaReads(true);
+            try {
+                return read(true);
+            } finally {
+                ReadWriteRoutingDataSource.allowReplicaReads(previous);
+            }
+        }
+
+        String readWithoutTransaction() {
+            return jdbc.queryForObject("SELECT name FROM source", String.class);
+        }
+    }
+}
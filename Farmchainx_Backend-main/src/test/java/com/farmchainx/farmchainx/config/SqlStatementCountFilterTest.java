@@ -0,0 +1,61 @@
+package com.farmchainx.farmchainx.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SqlStatementCountFilterTest {
+
+    private final MockHttpServletResponse response = new MockHttpServletResponse();
+
+    @Test
+    void headersAreSetBeforeTheBodyAndTheBodyIsNotHeldBack() throws Exception {
+        // An event stream: what the handler flushes must reach the client while it is still running
+        FilterChain stream = (request, wrapped) -> {
+            wrapped.getWriter().write("event:subscribed\n\n");
+            wrapped.flushBuffer();
+            assertTrue(response.isCommitted());
+            assertEquals("event:subscribed\n\n", response.getContentAsString());
+            assertEquals("0", response.getHeader(SqlStatementCountFilter.STATEMENTS_HEADER));
+        };
+
+        filter(true).doFilter(new MockHttpServletRequest("GET", "/api/products/stream"), response, stream);
+
+        assertNotNull(response.getHeader(SqlStatementCountFilter.TIME_HEADER));
+    }
+
+    @Test
+    void responsesWithoutABodyGetTheHeadersAtTheEnd() throws Exception {
+        FilterChain notModified = (request, wrapped) -> ((HttpServletResponse) wrapped).setStatus(304);
+
+        filter(true).doFilter(new MockHttpServletRequest("GET", "/api/products"), response, notModified);
+
+        assertEquals(304, response.getStatus());
+        assertEquals("0", response.getHeader(SqlStatementCountFilter.STATEMENTS_HEADER));
+    }
+
+    @Test
+    void headersAreOffUnlessEnabled() throws Exception {
+        FilterChain json = (request, wrapped) -> wrapped.getWriter().write("[]");
+
+        filter(false).doFilter(new MockHttpServletRequest("GET", "/api/products"), response, json);
+
+        assertEquals("[]", response.getContentAsString());
+        assertNull(response.getHeader(SqlStatementCountFilter.STATEMENTS_HEADER));
+    }
+
+    private static SqlStatementCountFilter filter(boolean headerEnabled) {
+        return new SqlStatementCountFilter(new SqlStatementTracker(), new SimpleMeterRegistry(), headerEnabled,
+                25, Duration.ofMillis(250), 10);
+    }
+}
@@ -0,0 +1,68 @@
+package com.farmchainx.farmchainx.controller;
+
+import com.farmchainx.farmchainx.model.Product;
+import com.farmchainx.farmchainx.repository.ProductRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Logs in as the demo accounts through /api/auth/login and calls the admin API with the issued
+// JWT, so the whole filter chain (token, authorities, URL rules) is exercised
+@SpringBootTest
+@AutoConfigureMockMvc
+class AdminEndpointSecurityTest {
+
+    @Autowired private MockMvc mockMvc;
+    @Autowired private ObjectMapper objectMapper;
+    @Autowired private ProductRepository productRepository;
+
+    @Test
+    void adminCanListRecordings() throws Exception {
+        mockMvc.perform(get("/api/admin/recordings").header(HttpHeaders.AUTHORIZATION, bearer("admin@farmchainx.com", "admin123")))
+                .andExpect(status().is2xxSuccessful());
+    }
+
+    @Test
+    void otherRolesAreForbidden() throws Exception {
+        mockMvc.perform(get("/api/admin/recordings").header(HttpHeaders.AUTHORIZATION, bearer("farmer@farmchainx.com", "farmer123")))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void adminSeesProductCacheHits() throws Exception {
+        Long id = productRepository.save(Product.builder().name("Cached").cropType("Wheat").price(2.0).quantity(10).build()).getId();
+        String token = bearer("admin@farmchainx.com", "admin123");
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(get("/api/products/" + id).header(HttpHeaders.AUTHORIZATION, token))
+                    .andExpect(status().isOk());
+        }
+
+        String body = mockMvc.perform(get("/api/admin/cache/stats").header(HttpHeaders.AUTHORIZATION, token))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        JsonNode products = objectMapper.readTree(body).get("products");
+        assertTrue(products != null && products.get("hits").asLong() > 0, body);
+    }
+
+    private String bearer(String email, String password) throws Exception {
+        String body = mockMvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of("email", email, "password", password))))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return "Bearer " + objectMapper.readTree(body).get("token").asText();
+    }
+}
@@ -0,0 +1,46 @@
+package com.farmchainx.farmchainx.controller;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class ProductControllerEncodingTest {
+
+    @Test
+    void plainListsPreferGzip() {
+        assertEquals("gzip", ProductController.contentEncoding("gzip, deflate, br"));
+        assertEquals("gzip", ProductController.contentEncoding("deflate, GZIP"));
+        assertEquals("deflate", ProductController.contentEncoding("deflate"));
+        assertEquals("gzip", ProductController.contentEncoding("x-gzip"));
+    }
+
+    @Test
+    void qZeroRefusesACoding() {
+        assertEquals("deflate", ProductController.contentEncoding("gzip;q=0, deflate"));
+        assertNull(ProductController.contentEncoding("gzip;q=0"));
+        assertNull(ProductController.contentEncoding("*;q=0, identity"));
+        assertNull(ProductController.contentEncoding("gzip; q=0.0, deflate;q=0"));
+    }
+
+    @Test
+    void highestQValueWins() {
+        assertEquals("deflate", ProductController.contentEncoding("gzip;q=0.5, deflate;q=0.8"));
+        assertNull(ProductController.contentEncoding("gzip;q=0.5, identity"));
+        assertEquals("gzip", ProductController.contentEncoding("identity;q=0.1, gzip;q=0.2"));
+    }
+
+    @Test
+    void wildcardCoversCodingsNotNamed() {
+        assertEquals("gzip", ProductController.contentEncoding("*"));
+        assertEquals("deflate", ProductController.contentEncoding("gzip;q=0, *"));
+    }
+
+    @Test
+    void noHeaderOrNothingUsableMeansIdentity() {
+        assertNull(ProductController.contentEncoding(null));
+        assertNull(ProductController.contentEncoding(""));
+        assertNull(ProductController.contentEncoding("br"));
+        assertNull(ProductController.contentEncoding("gzip;q=abc"));
+    }
+}
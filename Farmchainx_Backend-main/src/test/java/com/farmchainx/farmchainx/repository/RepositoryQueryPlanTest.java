@@ -0,0 +1,99 @@
+package com.farmchainx.farmchainx.repository;
+
+import com.farmchainx.farmchainx.model.Auction;
+import com.farmchainx.farmchainx.model.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.fail;
+
+// Runs each hot repository query, EXPLAINs the SQL Hibernate actually generated and fails
+// if H2 plans a full table scan, so a dropped index or a rewritten query is caught early.
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.farmchainx.farmchainx.repository.CapturingStatementInspector")
+class RepositoryQueryPlanTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.now();
+
+    @Autowired private UserRepository userRepository;
+    @Autowired private ProductRepository productRepository;
+    @Autowired private RatingRepository ratingRepository;
+    @Autowired private ActivityRepository activityRepository;
+    @Autowired private AuctionRepository auctionRepository;
+    @Autowired private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void clearCapturedStatements() {
+        CapturingStatementInspector.STATEMENTS.clear();
+    }
+
+    @Test
+    void userQueriesUseIndexes() {
+        assertNoFullScan(() -> userRepository.findByEmail("farmer@farmchainx.com"));
+        assertNoFullScan(() -> userRepository.countByRole(User.Role.FARMER));
+        assertNoFullScan(() -> userRepository.countByCreatedAtAfter(NOW.minusDays(30)));
+        assertNoFullScan(() -> userRepository.countByCreatedAtBetween(NOW.minusDays(60), NOW.minusDays(30)));
+        assertNoFullScan(() -> userRepository.countByRoleAndCreatedAtAfter(User.Role.CUSTOMER, NOW.minusDays(30)));
+        assertNoFullScan(() -> userRepository.countByRoleAndCreatedAtBetween(User.Role.RETAILER, NOW.minusDays(60), NOW));
+    }
+
+    @Test
+    void productQueriesUseIndexes() {
+        assertNoFullScan(() -> productRepository.findAllById(List.of(1L, 2L, 3L)));
+        assertNoFullScan(() -> productRepository.findByIdForUpdate(1L));
+        assertNoFullScan(() -> productRepository.findByFarmerId(1L,
+                PageRequest.of(1, 10, Sort.by(Sort.Direction.DESC, "createdAt", "id"))));
+    }
+
+    @Test
+    void ratingQueriesUseIndexes() {
+        assertNoFullScan(() -> ratingRepository.findByProductId(1L));
+        assertNoFullScan(() -> ratingRepository.findByProductIdAndUserId(1L, 1L));
+        assertNoFullScan(() -> ratingRepository.findRatedProductIdsByUserId(1L));
+        assertNoFullScan(() -> ratingRepository.countStarsByProductIds(List.of(1L, 2L, 3L)));
+        assertNoFullScan(() -> ratingRepository.findViewsByProductId(1L, Limit.of(20)));
+        assertNoFullScan(() -> ratingRepository.findViewsByProductIdBefore(1L, NOW, 10L, Limit.of(20)));
+        assertNoFullScan(() -> ratingRepository.findViews(Limit.of(20)));
+        assertNoFullScan(() -> ratingRepository.findViewsByIds(List.of(1L, 2L, 3L)));
+        assertNoFullScan(() -> ratingRepository.findViewsBefore(NOW, 10L, Limit.of(20)));
+    }
+
+    @Test
+    void activityQueriesUseIndexes() {
+        assertNoFullScan(() -> activityRepository.findTop10ByOrderByCreatedAtDesc());
+    }
+
+    @Test
+    void auctionQueriesUseIndexes() {
+        assertNoFullScan(() -> auctionRepository.findByStatus(Auction.Status.OPEN));
+        assertNoFullScan(() -> auctionRepository.findProductIdsByStatus(Auction.Status.OPEN));
+        assertNoFullScan(() -> auctionRepository.existsByProductIdAndStatus(1L, Auction.Status.OPEN));
+    }
+
+    private void assertNoFullScan(Runnable query) {
+        CapturingStatementInspector.STATEMENTS.clear();
+        query.run();
+
+        List<String> statements = List.copyOf(CapturingStatementInspector.STATEMENTS);
+        assertFalse(statements.isEmpty(), "query did not reach the database");
+
+        for (String sql : statements) {
+            // Prepared so H2 accepts the unbound ? parameters
+            String plan = jdbcTemplate.query(connection -> connection.prepareStatement("EXPLAIN " + sql),
+                    rs -> rs.next() ? rs.getString(1) : null);
+            if (plan != null && plan.contains(".tableScan")) {
+                fail("Full table scan in plan for:\n" + sql + "\n\nPlan:\n" + plan);
+            }
+        }
+    }
+}
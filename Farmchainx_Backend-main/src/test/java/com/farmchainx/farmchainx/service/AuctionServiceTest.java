@@ -0,0 +1,115 @@
+package com.farmchainx.farmchainx.service;
+
+import com.farmchainx.farmchainx.model.Auction;
+import com.farmchainx.farmchainx.model.Product;
+import com.farmchainx.farmchainx.model.Purchase;
+import com.farmchainx.farmchainx.model.User;
+import com.farmchainx.farmchainx.repository.AuctionRepository;
+import com.farmchainx.farmchainx.repository.ProductRepository;
+import com.farmchainx.farmchainx.repository.PurchaseRepository;
+import com.farmchainx.farmchainx.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+// Repositories are mocked; the auction closes on the real timing wheel shortly after it is armed
+class AuctionServiceTest {
+
+    private static final long AUCTION_ID = 1L;
+    private static final long PRODUCT_ID = 7L;
+    private static final long BIDDER_ID = 5L;
+
+    private final AuctionRepository auctionRepository = mock(AuctionRepository.class);
+    private final ProductRepository productRepository = mock(ProductRepository.class);
+    private final PurchaseRepository purchaseRepository = mock(PurchaseRepository.class);
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final OrderMatchingService orderMatchingService = mock(OrderMatchingService.class);
+
+    private final Product product = Product.builder().id(PRODUCT_ID).cropType("wheat").price(2.0).quantity(10).build();
+    private final Auction auction = new Auction();
+    private AuctionService auctionService;
+
+    @BeforeEach
+    void openAuction() {
+        auction.setId(AUCTION_ID);
+        auction.setProduct(product);
+        auction.setQuantity(10);
+        auction.setStartingPrice(10.0);
+        auction.setClosesAt(LocalDateTime.now().plusNanos(200_000_000));
+        when(auctionRepository.findByStatus(Auction.Status.OPEN)).thenReturn(List.of(auction));
+        when(auctionRepository.findById(AUCTION_ID)).thenReturn(Optional.of(auction));
+        when(productRepository.findById(PRODUCT_ID)).thenReturn(Optional.of(product));
+        when(userRepository.findById(BIDDER_ID)).thenReturn(Optional.of(User.builder().id(BIDDER_ID).build()));
+
+        auctionService = new AuctionService(auctionRepository, productRepository, purchaseRepository, userRepository,
+                orderMatchingService, mock(ProductUpdateStream.class), mock(PlatformTransactionManager.class),
+                3, Duration.ofMillis(20));
+        auctionService.resumeOpenAuctions();
+    }
+
+    @AfterEach
+    void shutdown() {
+        auctionService.shutdown();
+    }
+
+    @Test
+    void settlementIsRetriedUntilItSucceeds() {
+        when(productRepository.findByIdForUpdate(PRODUCT_ID))
+                .thenThrow(new RuntimeException("database unavailable"))
+                .thenReturn(Optional.of(product));
+        Map<String, Object> bid = auctionService.placeBid(BIDDER_ID, User.Role.RETAILER, AUCTION_ID, 50.0);
+        assertEquals(true, bid.get("accepted"));
+
+        verify(orderMatchingService, timeout(5_000)).onListingChanged(product);
+        verify(productRepository, times(2)).findByIdForUpdate(PRODUCT_ID);
+        verify(purchaseRepository).save(any(Purchase.class));
+        assertEquals(Auction.Status.SOLD, auction.getStatus());
+        assertEquals(50.0, auction.getWinningAmount());
+        assertEquals(0, product.getQuantity());
+        assertTrue(auctionService.getOpenAuctions().isEmpty());
+    }
+
+    @Test
+    void auctionThatCannotBeSettledIsMarkedFailedAndReleasesTheProduct() {
+        when(productRepository.findByIdForUpdate(PRODUCT_ID)).thenThrow(new RuntimeException("database unavailable"));
+        auctionService.placeBid(BIDDER_ID, User.Role.RETAILER, AUCTION_ID, 50.0);
+
+        // The product goes back on the order book with its stock untouched
+        verify(orderMatchingService, timeout(5_000)).onListingChanged(product);
+        verify(productRepository, times(3)).findByIdForUpdate(PRODUCT_ID);
+        verify(purchaseRepository, never()).save(any(Purchase.class));
+        assertEquals(Auction.Status.FAILED, auction.getStatus());
+        assertEquals(10, product.getQuantity());
+        assertTrue(auctionService.getOpenAuctions().isEmpty());
+    }
+
+    @Test
+    void closedLotRefusesBidsWhileItIsBeingSettled() throws InterruptedException {
+        when(productRepository.findByIdForUpdate(PRODUCT_ID)).thenThrow(new RuntimeException("database unavailable"));
+        auctionService.placeBid(BIDDER_ID, User.Role.RETAILER, AUCTION_ID, 50.0);
+        verify(productRepository, timeout(5_000)).findByIdForUpdate(PRODUCT_ID);
+
+        Map<String, Object> late = auctionService.placeBid(BIDDER_ID, User.Role.RETAILER, AUCTION_ID, 80.0);
+
+        assertEquals(false, late.get("accepted"));
+        assertEquals(50.0, late.get("highestBid"));
+        assertEquals("CLOSED", late.get("status"));
+    }
+}
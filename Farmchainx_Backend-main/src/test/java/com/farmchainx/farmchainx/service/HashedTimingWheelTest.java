@@ -0,0 +1,87 @@
+package com.farmchainx.farmchainx.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HashedTimingWheelTest {
+
+    private HashedTimingWheel wheel;
+
+    @AfterEach
+    void stopWheel() {
+        wheel.stop();
+    }
+
+    @Test
+    void tasksFireInDeadlineOrderAndNeverEarly() throws InterruptedException {
+        wheel = new HashedTimingWheel(10, TimeUnit.MILLISECONDS, 8, "test-wheel");
+        List<Long> fired = new CopyOnWriteArrayList<>();
+        CountDownLatch done = new CountDownLatch(3);
+        long start = System.nanoTime();
+
+        for (long delay : new long[]{150, 50, 100}) {
+            wheel.schedule(() -> {
+                assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) >= delay);
+                fired.add(delay);
+                done.countDown();
+            }, delay, TimeUnit.MILLISECONDS);
+        }
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertEquals(List.of(50L, 100L, 150L), fired);
+    }
+
+    @Test
+    void delaysLongerThanOneRotationWaitForTheirRound() throws InterruptedException {
+        // 4 ticks of 10 ms: a 130 ms timer lands in a bucket that comes round three times first
+        wheel = new HashedTimingWheel(10, TimeUnit.MILLISECONDS, 4, "test-wheel");
+        CountDownLatch done = new CountDownLatch(1);
+        long start = System.nanoTime();
+        long[] firedAfter = new long[1];
+
+        wheel.schedule(() -> {
+            firedAfter[0] = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            done.countDown();
+        }, 130, TimeUnit.MILLISECONDS);
+
+        assertFalse(done.await(80, TimeUnit.MILLISECONDS));
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertTrue(firedAfter[0] >= 130, "fired after " + firedAfter[0] + " ms");
+    }
+
+    @Test
+    void cancelledTimeoutsDoNotFire() throws InterruptedException {
+        wheel = new HashedTimingWheel(10, TimeUnit.MILLISECONDS, 8, "test-wheel");
+        AtomicBoolean cancelledRan = new AtomicBoolean();
+        CountDownLatch done = new CountDownLatch(1);
+
+        wheel.schedule(() -> cancelledRan.set(true), 30, TimeUnit.MILLISECONDS).cancel();
+        wheel.schedule(done::countDown, 60, TimeUnit.MILLISECONDS);
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertFalse(cancelledRan.get());
+    }
+
+    @Test
+    void aFailingTaskDoesNotStopTheWheel() throws InterruptedException {
+        wheel = new HashedTimingWheel(10, TimeUnit.MILLISECONDS, 8, "test-wheel");
+        CountDownLatch done = new CountDownLatch(1);
+
+        wheel.schedule(() -> {
+            throw new IllegalStateException("boom");
+        }, 10, TimeUnit.MILLISECONDS);
+        wheel.schedule(done::countDown, 40, TimeUnit.MILLISECONDS);
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+    }
+}
@@ -0,0 +1,213 @@
+package com.farmchainx.farmchainx.service;
+
+import com.farmchainx.farmchainx.model.OrderFill;
+import com.farmchainx.farmchainx.model.RetailerBid;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class OrderBookTest {
+
+    private static final long RETAILER = 7L;
+    private static final long OTHER_RETAILER = 8L;
+
+    private final OrderBook book = new OrderBook("wheat");
+    private long nextBidId = 1;
+
+    @Test
+    void listingsAtOnePriceFillInArrivalOrder() {
+        book.placeListing(1L, 2.0, 5);
+        book.placeListing(2L, 2.0, 5);
+
+        List<OrderFill> fills = book.placeBid(bid(RETAILER, 7, 2.0));
+
+        assertEquals(List.of(new OrderFill(1L, RETAILER, 1L, 5, 2.0), new OrderFill(1L, RETAILER, 2L, 2, 2.0)), fills);
+    }
+
+    @Test
+    void bidsAtOnePriceFillInArrivalOrder() {
+        RetailerBid first = bid(RETAILER, 3, 2.5);
+        RetailerBid second = bid(OTHER_RETAILER, 3, 2.5);
+        book.placeBid(first);
+        book.placeBid(second);
+
+        List<OrderFill> fills = book.placeListing(1L, 2.0, 4);
+
+        assertEquals(List.of(new OrderFill(first.getId(), RETAILER, 1L, 3, 2.0),
+                new OrderFill(second.getId(), OTHER_RETAILER, 1L, 1, 2.0)), fills);
+        assertFalse(book.hasBid(first.getId()));
+        assertTrue(book.hasBid(second.getId()));
+    }
+
+    @Test
+    void partialFillLeavesTheRemainderResting() {
+        book.placeListing(1L, 2.0, 4);
+
+        RetailerBid bid = bid(RETAILER, 10, 3.0);
+        List<OrderFill> fills = book.placeBid(bid);
+
+        assertEquals(List.of(new OrderFill(bid.getId(), RETAILER, 1L, 4, 2.0)), fills);
+        assertTrue(book.hasBid(bid.getId()));
+        assertEquals(List.of(level(3.0, 6, 1)), book.depth(5).get("bids"));
+        assertEquals(List.of(), book.depth(5).get("asks"));
+    }
+
+    @Test
+    void fillsExecuteAtTheListingPrice() {
+        book.placeListing(1L, 2.0, 1);
+        book.placeListing(2L, 2.4, 1);
+        book.placeListing(3L, 5.0, 1);
+
+        List<OrderFill> fills = book.placeBid(bid(RETAILER, 3, 3.0));
+
+        assertEquals(List.of(2.0, 2.4), fills.stream().map(OrderFill::getPrice).toList());
+        assertEquals(List.of(level(5.0, 1, 1)), book.depth(5).get("asks"));
+
+        // A listing arriving under a resting bid also trades at its own price, not the bid's
+        RetailerBid resting = bid(OTHER_RETAILER, 2, 4.0);
+        book.placeBid(resting);
+        assertEquals(List.of(new OrderFill(resting.getId(), OTHER_RETAILER, 4L, 2, 3.5)), book.placeListing(4L, 3.5, 2));
+    }
+
+    @Test
+    void repricingLosesTimePriorityButShrinkingKeepsIt() {
+        book.placeListing(1L, 2.0, 5);
+        book.placeListing(2L, 2.0, 5);
+
+        book.placeListing(1L, 2.0, 3); // same price, less stock: stays first
+        assertEquals(1L, book.placeBid(bid(RETAILER, 1, 2.0)).get(0).getProductId());
+
+        book.placeListing(1L, 2.1, 2); // repriced and back again: now behind product 2
+        book.placeListing(1L, 2.0, 2);
+        assertEquals(2L, book.placeBid(bid(RETAILER, 1, 2.0)).get(0).getProductId());
+    }
+
+    @Test
+    void growingAListingLosesTimePriority() {
+        book.placeListing(1L, 2.0, 5);
+        book.placeListing(2L, 2.0, 5);
+
+        book.placeListing(1L, 2.0, 8);
+
+        assertEquals(2L, book.placeBid(bid(RETAILER, 1, 2.0)).get(0).getProductId());
+    }
+
+    @Test
+    void onlyTheOwningRetailerCanCancelABid() {
+        RetailerBid bid = bid(RETAILER, 5, 2.0);
+        book.placeBid(bid);
+
+        assertFalse(book.cancelBid(bid.getId(), OTHER_RETAILER));
+        assertTrue(book.hasBid(bid.getId()));
+
+        assertTrue(book.cancelBid(bid.getId(), RETAILER));
+        assertFalse(book.hasBid(bid.getId()));
+        assertTrue(book.isEmpty());
+    }
+
+    @Test
+    void undeliveredQuantityGoesBackOnARestingBid() {
+        book.placeListing(1L, 2.0, 4);
+        RetailerBid bid = bid(RETAILER, 10, 3.0);
+        OrderFill fill = book.placeBid(bid).get(0);
+
+        // Only 1 of the 4 was still in stock when the fill was written
+        assertEquals(List.of(), book.settleFill(fill, 1, 0));
+
+        assertEquals(List.of(level(3.0, 9, 1)), book.depth(5).get("bids"));
+        assertTrue(book.tracksBid(bid.getId()));
+    }
+
+    @Test
+    void undeliveredQuantityOfAFilledBidIsMatchedAgain() {
+        book.placeListing(1L, 2.0, 5);
+        book.placeListing(2L, 2.5, 5);
+        RetailerBid bid = bid(RETAILER, 5, 3.0);
+        OrderFill fill = book.placeBid(bid).get(0);
+        assertFalse(book.hasBid(bid.getId()));
+
+        List<OrderFill> refills = book.settleFill(fill, 2, 0);
+
+        assertEquals(List.of(new OrderFill(bid.getId(), RETAILER, 2L, 3, 2.5)), refills);
+        assertEquals(List.of(level(2.5, 2, 1)), book.depth(5).get("asks"));
+    }
+
+    @Test
+    void cancelledBidGetsNothingBack() {
+        book.placeListing(1L, 2.0, 5);
+        RetailerBid bid = bid(RETAILER, 5, 3.0);
+        OrderFill fill = book.placeBid(bid).get(0);
+
+        assertFalse(book.cancelBid(bid.getId(), OTHER_RETAILER));
+        assertTrue(book.cancelBid(bid.getId(), RETAILER));
+        assertEquals(List.of(), book.settleFill(fill, 0, 0));
+
+        assertFalse(book.tracksBid(bid.getId()));
+        assertTrue(book.isEmpty());
+    }
+
+    @Test
+    void listingUpdatesDiscountFillsNotYetWritten() {
+        book.placeListing(1L, 2.0, 10);
+        OrderFill first = book.placeBid(bid(RETAILER, 4, 3.0)).get(0);
+
+        // An edit resubmits the database's 10 before the fill of 4 is written: 6 stay on offer
+        book.placeListing(1L, 2.0, 10);
+        assertEquals(List.of(level(2.0, 6, 1)), book.depth(5).get("asks"));
+        OrderFill second = book.placeBid(bid(OTHER_RETAILER, 10, 3.0)).get(0);
+        assertEquals(6, second.getQuantity());
+
+        // Writing the first fill leaves 6 in the database, all of it taken by the second
+        assertEquals(List.of(), book.settleFill(first, 4, 6));
+        assertEquals(List.of(), book.depth(5).get("asks"));
+        assertEquals(List.of(level(3.0, 4, 1)), book.depth(5).get("bids"));
+    }
+
+    @Test
+    void writtenFillsOnlyEverShrinkTheListing() {
+        book.placeListing(1L, 2.0, 10);
+        OrderFill fill = book.placeBid(bid(RETAILER, 4, 3.0)).get(0);
+
+        // The database had more than the book thought; the book stays at 6 until the next edit
+        book.settleFill(fill, 4, 20);
+        assertEquals(List.of(level(2.0, 6, 1)), book.depth(5).get("asks"));
+
+        OrderFill next = book.placeBid(bid(RETAILER, 1, 3.0)).get(0);
+        book.settleFill(next, 1, 2);
+        assertEquals(List.of(level(2.0, 2, 1)), book.depth(5).get("asks"));
+    }
+
+    @Test
+    void movingAListingToAnotherCropTakesItOffTheOldBook() {
+        List<OrderFill> sunk = new CopyOnWriteArrayList<>();
+        MatchingEngine engine = new MatchingEngine(2, sunk::addAll);
+        try {
+            engine.submitListing(1L, "Wheat", 2.0, 5).join();
+            engine.submitListing(1L, "Barley", 2.0, 5).join();
+
+            assertEquals(List.of(), engine.submitBid(RETAILER, "wheat", 5, 3.0).join());
+            assertEquals(List.of(), engine.depth("wheat", 5).join().get("asks"));
+
+            List<OrderFill> fills = engine.submitBid(RETAILER, " BARLEY ", 5, 3.0).join();
+            assertEquals(1, fills.size());
+            assertEquals(1L, fills.get(0).getProductId());
+            assertEquals(fills, sunk);
+        } finally {
+            engine.shutdown();
+        }
+    }
+
+    private RetailerBid bid(long retailerId, int quantity, double maxPrice) {
+        return new RetailerBid(nextBidId++, retailerId, "wheat", quantity, maxPrice);
+    }
+
+    private static Map<String, Object> level(double price, int quantity, int orders) {
+        return Map.of("price", price, "quantity", quantity, "orders", orders);
+    }
+}
@@ -0,0 +1,30 @@
+package com.farmchainx.farmchainx.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ProductJsonWriterTest {
+
+    @Test
+    void binaryFormatsOnlyWhenAskedForByName() {
+        assertEquals(ProductJsonWriter.CBOR, ProductJsonWriter.negotiate("application/cbor"));
+        assertEquals(ProductJsonWriter.SMILE, ProductJsonWriter.negotiate("application/x-jackson-smile, */*;q=0.5"));
+        assertEquals(MediaType.APPLICATION_JSON, ProductJsonWriter.negotiate(null));
+        assertEquals(MediaType.APPLICATION_JSON, ProductJsonWriter.negotiate("*/*"));
+        assertEquals(MediaType.APPLICATION_JSON, ProductJsonWriter.negotiate("application/*"));
+        assertEquals(MediaType.APPLICATION_JSON, ProductJsonWriter.negotiate("text/html"));
+    }
+
+    @Test
+    void qualityDecidesBetweenFormats() {
+        assertEquals(MediaType.APPLICATION_JSON,
+                ProductJsonWriter.negotiate("application/json;q=1, application/cbor;q=0.1"));
+        assertEquals(MediaType.APPLICATION_JSON,
+                ProductJsonWriter.negotiate("application/cbor;q=0.1, application/*"));
+        assertEquals(ProductJsonWriter.CBOR,
+                ProductJsonWriter.negotiate("application/json;q=0.5, application/cbor"));
+        assertEquals(MediaType.APPLICATION_JSON, ProductJsonWriter.negotiate("application/cbor;q=0"));
+    }
+}
@@ -0,0 +1,92 @@
+package com.farmchainx.farmchainx.service;
+
+import com.farmchainx.farmchainx.config.ReplicaLagMonitor;
+import com.farmchainx.farmchainx.model.Product;
+import com.farmchainx.farmchainx.repository.ProductRepository;
+import com.farmchainx.farmchainx.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import javax.sql.DataSource;
+import java.time.LocalDate;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// A second in-memory H2 database plays a replica that is within max-lag but has not yet seen the
+// latest write to a product. Updating that product must not write the replica's stale columns back.
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:replica_test_primary;DB_CLOSE_DELAY=-1",
+        "db.replica.url=" + ProductServiceReplicaTest.REPLICA_URL,
+        "db.replica.max-lag=1h",
+        "db.replica.heartbeat-interval=100ms",
+        "db.replica.retry-after=100ms"
+})
+class ProductServiceReplicaTest {
+
+    static final String REPLICA_URL = "jdbc:h2:mem:replica_test_replica;DB_CLOSE_DELAY=-1";
+
+    @Autowired private ProductService productService;
+    @Autowired private ProductRepository productRepository;
+    @Autowired private UserRepository userRepository;
+    @Autowired private ReplicaLagMonitor replicaLagMonitor;
+    @Autowired private EntityManagerFactory entityManagerFactory;
+    @Autowired @Qualifier("primaryDataSource") private DataSource primaryDataSource;
+
+    @Test
+    void updateProductKeepsWritesTheReplicaHasNotSeen() throws Exception {
+        Product product = productRepository.save(Product.builder()
+                .name("Tomatoes")
+                .cropType("Vegetable")
+                .price(2.5)
+                .quantity(100)
+                .averageRating(3.0)
+                .harvestDate(LocalDate.now())
+                .farmer(userRepository.findByEmail("farmer@farmchainx.com").orElseThrow())
+                .build());
+        JdbcTemplate primary = new JdbcTemplate(primaryDataSource);
+        replicate(primary);
+        awaitReplicaUsable();
+
+        // A rating recomputes the average on the primary; the replica still has 3.0
+        primary.update("UPDATE products SET average_rating = 4.5 WHERE id = ?", product.getId());
+        entityManagerFactory.getCache().evictAll();
+
+        Product update = Product.builder()
+                .name("Cherry tomatoes")
+                .cropType("Vegetable")
+                .price(2.5)
+                .quantity(100)
+                .harvestDate(product.getHarvestDate())
+                .build();
+        productService.updateProduct(product.getId(), update);
+
+        Map<String, Object> row = primary.queryForMap(
+                "SELECT name, average_rating FROM products WHERE id = ?", product.getId());
+        assertEquals("Cherry tomatoes", row.get("NAME"));
+        assertEquals(4.5, ((Number) row.get("AVERAGE_RATING")).doubleValue());
+    }
+
+    // Copies the primary, heartbeat row included, into the replica database
+    private static void replicate(JdbcTemplate primary) {
+        JdbcTemplate replica = new JdbcTemplate(new DriverManagerDataSource(REPLICA_URL, "admin", "123"));
+        replica.execute("DROP ALL OBJECTS");
+        for (String statement : primary.queryForList("SCRIPT", String.class)) {
+            replica.execute(statement);
+        }
+    }
+
+    private void awaitReplicaUsable() throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (!replicaLagMonitor.replicaUsable() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+        assertTrue(replicaLagMonitor.replicaUsable());
+    }
+}
@@ -0,0 +1,74 @@
+package com.farmchainx.farmchainx.service;
+
+import com.farmchainx.farmchainx.repository.RatingRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class RatedProductsIndexTest {
+
+    private static final long USER_ID = 3L;
+
+    private final RatingRepository ratingRepository = mock(RatingRepository.class);
+    private final RatedProductsIndex index = new RatedProductsIndex(ratingRepository, 100);
+
+    @BeforeEach
+    void startTransaction() {
+        when(ratingRepository.findRatedProductIdsByUserId(USER_ID)).thenReturn(List.of(10L));
+        TransactionSynchronizationManager.initSynchronization();
+    }
+
+    @AfterEach
+    void endTransaction() {
+        TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    @Test
+    void deletedRatingIsForgottenOnlyOnceTheDeleteCommits() {
+        assertTrue(index.hasRated(USER_ID, 10L));
+
+        index.onRatingDeleted(USER_ID);
+        // Until the commit the row is still there, so the bitmap must not be reloaded from it yet
+        when(ratingRepository.findRatedProductIdsByUserId(USER_ID)).thenReturn(List.of());
+        assertTrue(index.hasRated(USER_ID, 10L));
+
+        commit();
+        assertFalse(index.hasRated(USER_ID, 10L));
+    }
+
+    @Test
+    void ratingRolledBackIsNeverAdded() {
+        assertFalse(index.hasRated(USER_ID, 11L));
+
+        index.onRated(USER_ID, 11L);
+        assertFalse(index.hasRated(USER_ID, 11L));
+
+        // Rolled back: the synchronizations are dropped without afterCommit
+        TransactionSynchronizationManager.clearSynchronization();
+        TransactionSynchronizationManager.initSynchronization();
+        assertFalse(index.hasRated(USER_ID, 11L));
+    }
+
+    @Test
+    void ratingIsAddedWhenItCommits() {
+        assertFalse(index.hasRated(USER_ID, 11L));
+
+        index.onRated(USER_ID, 11L);
+        commit();
+
+        assertTrue(index.hasRated(USER_ID, 11L));
+    }
+
+    private static void commit() {
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+    }
+}
@@ -0,0 +1,141 @@
+package com.farmchainx.farmchainx.service;
+
+import com.farmchainx.farmchainx.model.User;
+import com.farmchainx.farmchainx.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class UserCountersTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2026, 3, 15);
+    private static final Clock CLOCK = Clock.fixed(TODAY.atTime(12, 0).toInstant(ZoneOffset.UTC), ZoneOffset.UTC);
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+
+    @Test
+    void seedsTotalsAndGrowthFromOneGroupedQuery() {
+        when(userRepository.countByRoleAndDay()).thenReturn(List.of(
+                row(User.Role.FARMER, TODAY, 6),                     // last window
+                row(User.Role.CUSTOMER, TODAY.minusDays(29), 6),     // last window, oldest day
+                row(User.Role.CUSTOMER, TODAY.minusDays(30), 5),     // previous window
+                row(User.Role.RETAILER, TODAY.minusDays(59), 5),     // previous window, oldest day
+                row(User.Role.ADMIN, TODAY.minusDays(60), 7),        // too old for either window
+                row(User.Role.FARMER, null, 1)));
+        UserCounters counters = new UserCounters(userRepository, CLOCK);
+
+        UserCounters.Snapshot snapshot = counters.snapshot();
+        counters.snapshot();
+
+        verify(userRepository, times(1)).countByRoleAndDay();
+        assertEquals(30, snapshot.total());
+        assertEquals(7, snapshot.count(User.Role.FARMER));
+        assertEquals(11, snapshot.count(User.Role.CUSTOMER));
+        assertEquals(5, snapshot.count(User.Role.RETAILER));
+        assertEquals(7, snapshot.count(User.Role.ADMIN));
+        assertEquals(12, snapshot.registeredLastWindow());
+        assertEquals(10, snapshot.registeredPreviousWindow());
+        assertEquals(20.0, snapshot.growth());
+    }
+
+    @Test
+    void registrationsUpdateTheCountersWithoutQuerying() {
+        when(userRepository.countByRoleAndDay()).thenReturn(List.of(row(User.Role.FARMER, TODAY.minusDays(40), 4)));
+        UserCounters counters = new UserCounters(userRepository, CLOCK);
+        counters.seed();
+
+        counters.onRegistered(user(User.Role.CUSTOMER));
+        counters.onRegistered(user(User.Role.CUSTOMER));
+        UserCounters.Snapshot snapshot = counters.snapshot();
+
+        verify(userRepository, times(1)).countByRoleAndDay();
+        assertEquals(6, snapshot.total());
+        assertEquals(2, snapshot.count(User.Role.CUSTOMER));
+        assertEquals(-50.0, snapshot.growth());
+    }
+
+    @Test
+    void registrationsBeforeTheSeedAreLeftToTheQuery() {
+        when(userRepository.countByRoleAndDay()).thenReturn(List.of(row(User.Role.ADMIN, TODAY, 1)));
+        UserCounters counters = new UserCounters(userRepository, CLOCK);
+
+        counters.onRegistered(user(User.Role.ADMIN));
+
+        assertEquals(1, counters.snapshot().total());
+    }
+
+    @Test
+    void registrationCommittedBeforeTheSeedIsNotCountedTwice() {
+        // User 8 committed before the seed query ran but its afterCommit arrives after the seed
+        when(userRepository.countByRoleAndDay()).thenReturn(List.of(row(User.Role.FARMER, TODAY, 2, 8L)));
+        UserCounters counters = new UserCounters(userRepository, CLOCK);
+        counters.seed();
+
+        counters.onRegistered(user(8L, User.Role.FARMER));
+        counters.onRegistered(user(9L, User.Role.FARMER));
+
+        assertEquals(3, counters.snapshot().total());
+        assertEquals(3, counters.snapshot().count(User.Role.FARMER));
+    }
+
+    @Test
+    void registrationsCountOnlyOnceCommitted() {
+        when(userRepository.countByRoleAndDay()).thenReturn(List.of());
+        UserCounters counters = new UserCounters(userRepository, CLOCK);
+        counters.seed();
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            counters.onRegistered(user(User.Role.FARMER));
+            assertEquals(0, counters.snapshot().total());
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+            assertEquals(1, counters.snapshot().total());
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private static User user(User.Role role) {
+        return user(null, role);
+    }
+
+    private static User user(Long id, User.Role role) {
+        return User.builder().id(id).role(role).createdAt(TODAY.atTime(9, 30)).build();
+    }
+
+    private static UserRepository.RoleDayCount row(User.Role role, LocalDate day, long users) {
+        return row(role, day, users, null);
+    }
+
+    private static UserRepository.RoleDayCount row(User.Role role, LocalDate day, long users, Long maxId) {
+        return new UserRepository.RoleDayCount() {
+            public User.Role getRole() {
+                return role;
+            }
+
+            public LocalDate getDay() {
+                return day;
+            }
+
+            public Long getUsers() {
+                return users;
+            }
+
+            public Long getMaxId() {
+                return maxId;
+            }
+        };
+    }
+}